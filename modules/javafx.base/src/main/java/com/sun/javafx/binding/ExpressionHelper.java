@@ -37,7 +37,10 @@ import java.util.Arrays;
  * change event notification.
  *
  * This implementation can handle adding and removing listeners while the
- * observers are being notified, but it is not thread-safe.
+ * observers are being notified, but it is not thread-safe. Notifying the
+ * observers does not allocate; the listener arrays are only copied if they
+ * are modified while a notification is in progress, and at most once per
+ * notification.
  *
  *
  */
@@ -122,7 +125,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
         @Override
         protected ExpressionHelper<T> addListener(ChangeListener<? super T> listener) {
-            return new Generic<T>(observable, this.listener, listener);
+            return new Generic<T>(observable, this.listener, listener, observable.getValue());
         }
 
         @Override
@@ -146,14 +149,18 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         private T currentValue;
 
         private SingleChange(ObservableValue<T> observable, ChangeListener<? super T> listener) {
+            this(observable, listener, observable.getValue());
+        }
+
+        private SingleChange(ObservableValue<T> observable, ChangeListener<? super T> listener, T currentValue) {
             super(observable);
             this.listener = listener;
-            this.currentValue = observable.getValue();
+            this.currentValue = currentValue;
         }
 
         @Override
         protected ExpressionHelper<T> addListener(InvalidationListener listener) {
-            return new Generic<T>(observable, listener, this.listener);
+            return new Generic<T>(observable, listener, this.listener, currentValue);
         }
 
         @Override
@@ -163,7 +170,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
         @Override
         protected ExpressionHelper<T> addListener(ChangeListener<? super T> listener) {
-            return new Generic<T>(observable, this.listener, listener);
+            return new Generic<T>(observable, this.listener, listener, currentValue);
         }
 
         @Override
@@ -188,33 +195,49 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
     private static class Generic<T> extends ExpressionHelper<T> {
 
+        private static final int MIN_CAPACITY = 4;
+
         private InvalidationListener[] invalidationListeners;
         private ChangeListener<? super T>[] changeListeners;
         private int invalidationSize;
         private int changeSize;
-        private boolean locked;
         private T currentValue;
 
+        /**
+         * The number of notifications currently in progress on this helper.
+         * Nested notifications are possible if a listener changes the observable.
+         */
+        private int notifying;
+
+        /**
+         * Whether the listener arrays are referenced by a notification in progress.
+         * An array that is shared must not be modified in place; it is copied on the
+         * first modification instead, after which the copy is private to this helper
+         * until the next notification starts.
+         */
+        private boolean invalidationShared;
+        private boolean changeShared;
+
         private Generic(ObservableValue<T> observable, InvalidationListener listener0, InvalidationListener listener1) {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
         }
 
-        private Generic(ObservableValue<T> observable, ChangeListener<? super T> listener0, ChangeListener<? super T> listener1) {
+        private Generic(ObservableValue<T> observable, ChangeListener<? super T> listener0, ChangeListener<? super T> listener1, T currentValue) {
             super(observable);
             this.changeListeners = new ChangeListener[] {listener0, listener1};
             this.changeSize = 2;
-            this.currentValue = observable.getValue();
+            this.currentValue = currentValue;
         }
 
-        private Generic(ObservableValue<T> observable, InvalidationListener invalidationListener, ChangeListener<? super T> changeListener) {
+        private Generic(ObservableValue<T> observable, InvalidationListener invalidationListener, ChangeListener<? super T> changeListener, T currentValue) {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {invalidationListener};
             this.invalidationSize = 1;
             this.changeListeners = new ChangeListener[] {changeListener};
             this.changeSize = 1;
-            this.currentValue = observable.getValue();
+            this.currentValue = currentValue;
         }
 
         @Override
@@ -222,11 +245,13 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             if (invalidationListeners == null) {
                 invalidationListeners = new InvalidationListener[] {listener};
                 invalidationSize = 1;
+                invalidationShared = false;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
+                if (invalidationShared) {
                     final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
+                    invalidationShared = false;
                 } else if (invalidationSize == oldCapacity) {
                     invalidationSize = trim(invalidationSize, invalidationListeners);
                     if (invalidationSize == oldCapacity) {
@@ -246,26 +271,16 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                     if (listener.equals(invalidationListeners[index])) {
                         if (invalidationSize == 1) {
                             if (changeSize == 1) {
-                                return new SingleChange<T>(observable, changeListeners[0]);
+                                return new SingleChange<T>(observable, changeListeners[0], currentValue);
                             }
                             invalidationListeners = null;
                             invalidationSize = 0;
                         } else if ((invalidationSize == 2) && (changeSize == 0)) {
                             return new SingleInvalidation<T>(observable, invalidationListeners[1-index]);
                         } else {
-                            final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index);
-                            }
-                            if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
+                            invalidationListeners = remove(invalidationListeners, invalidationSize, index, invalidationShared);
+                            invalidationShared = false;
                             invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
-                            }
                         }
                         break;
                     }
@@ -279,11 +294,13 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             if (changeListeners == null) {
                 changeListeners = new ChangeListener[] {listener};
                 changeSize = 1;
+                changeShared = false;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
+                if (changeShared) {
                     final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     changeListeners = Arrays.copyOf(changeListeners, newCapacity);
+                    changeShared = false;
                 } else if (changeSize == oldCapacity) {
                     changeSize = trim(changeSize, changeListeners);
                     if (changeSize == oldCapacity) {
@@ -310,22 +327,13 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                             }
                             changeListeners = null;
                             changeSize = 0;
+                            currentValue = null;
                         } else if ((changeSize == 2) && (invalidationSize == 0)) {
-                            return new SingleChange<T>(observable, changeListeners[1-index]);
+                            return new SingleChange<T>(observable, changeListeners[1-index], currentValue);
                         } else {
-                            final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super T>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index);
-                            }
-                            if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
+                            changeListeners = remove(changeListeners, changeSize, index, changeShared);
+                            changeShared = false;
                             changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
-                            }
                         }
                         break;
                     }
@@ -334,6 +342,26 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             return this;
         }
 
+        /**
+         * Removes the element at {@code index} and returns the resulting array. The
+         * array is modified in place unless it is shared with a notification in
+         * progress, and it is shrunk once it is less than a quarter full.
+         */
+        private static <L> L[] remove(L[] listeners, int size, int index, boolean shared) {
+            final int newSize = size - 1;
+            final int capacity = listeners.length;
+            final L[] result;
+            if (shared || ((capacity > MIN_CAPACITY) && (newSize < capacity / 4))) {
+                final int newCapacity = shared? capacity : Math.max(MIN_CAPACITY, newSize * 2);
+                result = Arrays.copyOf(listeners, newCapacity);
+            } else {
+                result = listeners;
+            }
+            System.arraycopy(listeners, index + 1, result, index, newSize - index);
+            result[newSize] = null; // Let gc do its work
+            return result;
+        }
+
         @Override
         protected void fireValueChangedEvent() {
             final InvalidationListener[] curInvalidationList = invalidationListeners;
@@ -342,7 +370,9 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             final int curChangeSize = changeSize;
 
             try {
-                locked = true;
+                notifying++;
+                invalidationShared = curInvalidationSize > 0;
+                changeShared = curChangeSize > 0;
                 for (int i = 0; i < curInvalidationSize; i++) {
                     try {
                         curInvalidationList[i].invalidated(observable);
@@ -365,7 +395,10 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                if (--notifying == 0) {
+                    invalidationShared = false;
+                    changeShared = false;
+                }
             }
         }
     }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Defers change notifications of observable collections while a batch is
+ * open on the current thread. Collections that are changed inside the batch
+ * register a flush action the first time they are changed, and the actions
+ * are run in that order when the outermost batch ends.
+ *
+ * @see javafx.collections.FXCollections#batch(Runnable)
+ */
+public final class ChangeBatch {
+
+    private static final ThreadLocal<ChangeBatch> current = new ThreadLocal<>();
+
+    // Number of threads with an open batch, so that collections can check
+    // for a batch without a ThreadLocal lookup in the common case.
+    private static final AtomicInteger openBatches = new AtomicInteger();
+
+    private final List<Runnable> flushActions = new ArrayList<>();
+    private int depth;
+
+    private ChangeBatch() {
+    }
+
+    /**
+     * Runs the given action in a batch, then notifies the listeners of the
+     * collections that were changed. Batches may be nested, in which case
+     * listeners are notified when the outermost batch ends.
+     *
+     * @param action the action to run
+     */
+    public static void run(Runnable action) {
+        ChangeBatch batch = current.get();
+        if (batch == null) {
+            batch = new ChangeBatch();
+            current.set(batch);
+            openBatches.incrementAndGet();
+        }
+        batch.depth++;
+        try {
+            action.run();
+        } finally {
+            if (--batch.depth == 0) {
+                current.remove();
+                openBatches.decrementAndGet();
+                // The batch is closed, so listeners that change collections
+                // while being notified are notified immediately.
+                flush(batch.flushActions);
+            }
+        }
+    }
+
+    /*
+     * Runs every flush action, even if some of them throw, so that no
+     * collection is left holding changes it will never fire. The first
+     * exception is rethrown once all of them have run.
+     */
+    private static void flush(List<Runnable> flushActions) {
+        Throwable failure = null;
+        for (Runnable flushAction : flushActions) {
+            try {
+                flushAction.run();
+            } catch (Throwable t) {
+                if (failure == null) {
+                    failure = t;
+                } else {
+                    failure.addSuppressed(t);
+                }
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+    /**
+     * Returns true if a batch is open on the current thread.
+     *
+     * @return true if a batch is open on the current thread
+     */
+    public static boolean isOpen() {
+        return openBatches.get() > 0 && current.get() != null;
+    }
+
+    /**
+     * Registers an action that notifies the listeners of a collection when
+     * the batch ends. A collection must register only once per batch.
+     *
+     * @param flushAction the action that fires the deferred changes
+     * @throws IllegalStateException if no batch is open on the current thread
+     */
+    public static void defer(Runnable flushAction) {
+        final ChangeBatch batch = current.get();
+        if (batch == null) {
+            throw new IllegalStateException("No batch is open on this thread");
+        }
+        batch.flushActions.add(flushAction);
+    }
+}
@@ -31,7 +31,9 @@ import javafx.collections.ObservableMap;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -112,7 +114,43 @@ public class ObservableMapWrapper<K, V> implements ObservableMap<K, V>{
     }
 
     protected void callObservers(MapChangeListener.Change<K,V> change) {
-        MapListenerHelper.fireValueChangedEvent(listenerHelper, change);
+        if (ChangeBatch.isOpen()) {
+            deferChange(change);
+        } else {
+            MapListenerHelper.fireValueChangedEvent(listenerHelper, change);
+        }
+    }
+
+    // The changes made while a batch is open, coalesced by key. Each change
+    // goes from the value the key had before the batch to its current value.
+    private Map<K, SimpleChange> deferredChanges;
+
+    private void deferChange(MapChangeListener.Change<K,V> change) {
+        if (deferredChanges == null) {
+            deferredChanges = new LinkedHashMap<>();
+            ChangeBatch.defer(this::fireDeferredChanges);
+        }
+        final K key = change.getKey();
+        final SimpleChange previous = deferredChanges.get(key);
+        if (previous == null) {
+            deferredChanges.put(key, new SimpleChange(key, change.getValueRemoved(),
+                    change.getValueAdded(), change.wasAdded(), change.wasRemoved()));
+        } else if (!previous.wasRemoved && !change.wasAdded()
+                || previous.wasRemoved && change.wasAdded() && Objects.equals(previous.old, change.getValueAdded())) {
+            // The key is back to where it was before the batch
+            deferredChanges.remove(key);
+        } else {
+            deferredChanges.put(key, new SimpleChange(key, previous.old,
+                    change.getValueAdded(), change.wasAdded(), previous.wasRemoved));
+        }
+    }
+
+    private void fireDeferredChanges() {
+        final Map<K, SimpleChange> changes = deferredChanges;
+        deferredChanges = null;
+        for (SimpleChange change : changes.values()) {
+            MapListenerHelper.fireValueChangedEvent(listenerHelper, change);
+        }
     }
 
     @Override
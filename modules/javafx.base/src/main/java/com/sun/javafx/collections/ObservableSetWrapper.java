@@ -31,6 +31,8 @@ import javafx.collections.SetChangeListener;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -125,7 +127,35 @@ public class ObservableSetWrapper<E> implements ObservableSet<E> {
     }
 
     private void callObservers(SetChangeListener.Change<E> change) {
-        SetListenerHelper.fireValueChangedEvent(listenerHelper, change);
+        if (ChangeBatch.isOpen()) {
+            deferChange(change);
+        } else {
+            SetListenerHelper.fireValueChangedEvent(listenerHelper, change);
+        }
+    }
+
+    // The changes made while a batch is open, by element. An element can only
+    // be added if it was removed before and vice versa, so a second change to
+    // an element undoes the first.
+    private Map<E, SetChangeListener.Change<E>> deferredChanges;
+
+    private void deferChange(SetChangeListener.Change<E> change) {
+        if (deferredChanges == null) {
+            deferredChanges = new LinkedHashMap<>();
+            ChangeBatch.defer(this::fireDeferredChanges);
+        }
+        final E element = change.wasAdded() ? change.getElementAdded() : change.getElementRemoved();
+        if (deferredChanges.remove(element) == null) {
+            deferredChanges.put(element, change);
+        }
+    }
+
+    private void fireDeferredChanges() {
+        final Map<E, SetChangeListener.Change<E>> changes = deferredChanges;
+        deferredChanges = null;
+        for (SetChangeListener.Change<E> change : changes.values()) {
+            SetListenerHelper.fireValueChangedEvent(listenerHelper, change);
+        }
     }
 
     /**
@@ -37,4 +37,5 @@ public class Logger {
     public void incrementCounter(String counter) {}
     public void newPhase(String name) {}
     public void newInput(String name) {}
+    public void cssStyle(String nodeClass, long nanos) {}
 }
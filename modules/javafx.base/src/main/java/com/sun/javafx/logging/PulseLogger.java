@@ -98,6 +98,12 @@ public class PulseLogger {
         }
     }
 
+    public static void cssStyle(String nodeClass, long nanos) {
+        for (Logger logger: loggers) {
+            logger.cssStyle(nodeClass, nanos);
+        }
+    }
+
     /**
      * @return true if the user requested pulse logging by setting the system
      *         property javafx.pulseLogger to true, false otherwise.
@@ -48,6 +48,7 @@ public final class JFRPulseLogger extends Logger {
     private JFRPulseLogger() {
         FlightRecorder.register(JFRInputEvent.class);
         FlightRecorder.register(JFRPulsePhaseEvent.class);
+        FlightRecorder.register(JFRCssStyleEvent.class);
         currentPulsePhaseEvent = new ThreadLocal<JFRPulsePhaseEvent>() {
             @Override
             public JFRPulsePhaseEvent initialValue() {
@@ -148,4 +149,15 @@ public final class JFRPulseLogger extends Logger {
         event.setInput(input);
         currentInputEvent.set(event);
     }
+
+    @Override
+    public void cssStyle(String nodeClass, long nanos) {
+        JFRCssStyleEvent event = new JFRCssStyleEvent();
+        if (event.isEnabled()) {
+            event.setPulseId(Thread.currentThread() == fxThread ? fxPulseNumber : 0);
+            event.setNodeClass(nodeClass);
+            event.setStyleTime(nanos);
+            event.commit();
+        }
+    }
 }
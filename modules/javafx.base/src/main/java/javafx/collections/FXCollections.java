@@ -25,6 +25,7 @@
 
 package javafx.collections;
 
+import com.sun.javafx.collections.ChangeBatch;
 import com.sun.javafx.collections.ListListenerHelper;
 import com.sun.javafx.collections.MapListenerHelper;
 import com.sun.javafx.collections.SetListenerHelper;
@@ -44,6 +45,7 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 
@@ -53,8 +55,10 @@ import com.sun.javafx.collections.ObservableListWrapper;
 import com.sun.javafx.collections.ObservableMapWrapper;
 import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
+import com.sun.javafx.collections.ObservableDoubleArrayImpl;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
 import com.sun.javafx.collections.ObservableIntegerArrayImpl;
+import com.sun.javafx.collections.ObservableLongArrayImpl;
 import com.sun.javafx.collections.ObservableSequentialListWrapper;
 import com.sun.javafx.collections.SetAdapterChange;
 import com.sun.javafx.collections.SortableList;
@@ -308,6 +312,66 @@ public class FXCollections {
         return new ObservableFloatArrayImpl(array);
     }
 
+    /**
+     * Creates a new empty observable double array.
+     * @return a newly created ObservableDoubleArray
+     * @since 18
+     */
+    public static ObservableDoubleArray observableDoubleArray() {
+        return new ObservableDoubleArrayImpl();
+    }
+
+    /**
+     * Creates a new observable double array with {@code values} set to it.
+     * @param values the values that will be in the new observable double array
+     * @return a newly created ObservableDoubleArray
+     * @since 18
+     */
+    public static ObservableDoubleArray observableDoubleArray(double... values) {
+        return new ObservableDoubleArrayImpl(values);
+    }
+
+    /**
+     * Creates a new observable double array with copy of elements in given
+     * {@code array}.
+     * @param array observable double array to copy
+     * @return a newly created ObservableDoubleArray
+     * @since 18
+     */
+    public static ObservableDoubleArray observableDoubleArray(ObservableDoubleArray array) {
+        return new ObservableDoubleArrayImpl(array);
+    }
+
+    /**
+     * Creates a new empty observable long array.
+     * @return a newly created ObservableLongArray
+     * @since 18
+     */
+    public static ObservableLongArray observableLongArray() {
+        return new ObservableLongArrayImpl();
+    }
+
+    /**
+     * Creates a new observable long array with {@code values} set to it.
+     * @param values the values that will be in the new observable long array
+     * @return a newly created ObservableLongArray
+     * @since 18
+     */
+    public static ObservableLongArray observableLongArray(long... values) {
+        return new ObservableLongArrayImpl(values);
+    }
+
+    /**
+     * Creates a new observable long array with copy of elements in given
+     * {@code array}.
+     * @param array observable long array to copy
+     * @return a newly created ObservableLongArray
+     * @since 18
+     */
+    public static ObservableLongArray observableLongArray(ObservableLongArray array) {
+        return new ObservableLongArrayImpl(array);
+    }
+
     /**
      * Creates a new empty observable list that is backed by an array list.
      * @see #observableList(java.util.List)
@@ -710,6 +774,38 @@ public class FXCollections {
         }
     }
 
+    /**
+     * Runs the given action and defers the change notifications of the
+     * observable collections it changes until the action completes.
+     * Fires only <b>one</b> change notification per list, with all of the
+     * changes made to the list by the action. Observable maps and sets
+     * fire one change per key or element that differs from its value
+     * before the action.
+     * <p>
+     * The changes are applied to the collections as usual, only the
+     * notifications are deferred. Lists that are derived from a changed
+     * list, such as a {@link javafx.collections.transformation.SortedList},
+     * are therefore not updated until the action completes.
+     * Calls to {@code batch} can be nested, in which case the notifications
+     * are fired when the outermost action completes. The notifications are
+     * fired even if the action throws an exception.
+     * <p>
+     * Only changes made on the calling thread are deferred. This applies to
+     * the lists that report their changes between
+     * {@link ObservableListBase#beginChange() beginChange()} and
+     * {@link ObservableListBase#endChange() endChange()}, which include the
+     * lists created by this class, and to the maps and sets created by this
+     * class.
+     *
+     * @param action the action that changes the collections
+     * @throws NullPointerException if {@code action} is null
+     * @since 18
+     */
+    public static void batch(Runnable action) {
+        Objects.requireNonNull(action, "action cannot be null");
+        ChangeBatch.run(action);
+    }
+
     private static class EmptyObservableList<E> extends AbstractList<E> implements ObservableList<E> {
 
         private static final ListIterator iterator = new ListIterator() {
@@ -25,6 +25,7 @@
 
 package javafx.collections;
 
+import com.sun.javafx.collections.ChangeBatch;
 import com.sun.javafx.collections.ChangeHelper;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -530,6 +531,12 @@ final class ListChangeBuilder<E> {
     }
 
     public void beginChange() {
+        if (changeLock == 0 && ChangeBatch.isOpen()) {
+            // Keep the change open until the batch ends so that all of
+            // the changes made in the batch are fired as one Change
+            changeLock++;
+            ChangeBatch.defer(this::endChange);
+        }
         changeLock++;
     }
 
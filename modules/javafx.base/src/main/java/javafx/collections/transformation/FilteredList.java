@@ -33,9 +33,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import javafx.beans.NamedArg;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 
@@ -55,6 +58,20 @@ public final class FilteredList<E> extends TransformationList<E, E>{
     private SortHelper helper;
     private static final Predicate ALWAYS_TRUE = t -> true;
 
+    // Fewer elements than this are not worth testing in parallel
+    private static final int PARALLEL_FILTER_THRESHOLD = 1 << 13;
+
+    // Reused when the predicate changes: the indexes that replace the
+    // filtered ones, and the results of testing in parallel
+    private int[] spare;
+    private boolean[] matches;
+
+    // Differences with at most this many runs are always reported as such
+    private static final int MIN_DIFFERENCE_RUNS = 64;
+
+    // Set while setNarrowerPredicate changes the predicate
+    private boolean narrowing;
+
     /**
      * Constructs a new FilteredList wrapper around the source list.
      * The provided predicate will match the elements in the source list that will be visible.
@@ -125,6 +142,54 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         predicateProperty().set(predicate);
     }
 
+    /**
+     * Sets a predicate that matches no element that the current predicate
+     * does not match, for example when a search text is extended. Only the
+     * elements currently in this list are tested with the new predicate.
+     * If the predicate does not meet this condition, elements that it
+     * matches might be missing from this list.
+     *
+     * @param predicate the predicate to match the elements
+     * @since 18
+     */
+    public final void setNarrowerPredicate(Predicate<? super E> predicate) {
+        narrowing = true;
+        try {
+            predicateProperty().set(predicate);
+        } finally {
+            narrowing = false;
+        }
+    }
+
+    /**
+     * Whether the predicate is tested in parallel when it changes. If true,
+     * the predicate of a list with thousands of elements is tested using
+     * the common {@link java.util.concurrent.ForkJoinPool ForkJoinPool}.
+     * The predicate is then called from threads other than the one that
+     * changes it, so it must be thread-safe and must not access state that
+     * is confined to the JavaFX Application Thread. Changes to the source
+     * list are always tested on the thread that makes them.
+     *
+     * @defaultValue false
+     * @since 18
+     */
+    private BooleanProperty parallelFilter;
+
+    public final BooleanProperty parallelFilterProperty() {
+        if (parallelFilter == null) {
+            parallelFilter = new SimpleBooleanProperty(this, "parallelFilter");
+        }
+        return parallelFilter;
+    }
+
+    public final boolean isParallelFilter() {
+        return parallelFilter != null && parallelFilter.get();
+    }
+
+    public final void setParallelFilter(boolean value) {
+        parallelFilterProperty().set(value);
+    }
+
     private Predicate<? super E> getPredicateImpl() {
         if (getPredicate() != null) {
             return getPredicate();
@@ -317,26 +382,178 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void refilter() {
         ensureSize(getSource().size());
-        List<E> removed = null;
-        if (hasListeners()) {
-            removed = new ArrayList<>(this);
+        final Predicate<? super E> pred = getPredicateImpl();
+        if (!hasListeners()) {
+            // Nothing to report, so the indexes are filtered in place
+            size = filter(pred, filtered);
+            return;
+        }
+        if (spare == null || spare.length < filtered.length) {
+            spare = new int[filtered.length];
+        }
+        fireDifference(spare, filter(pred, spare));
+    }
+
+    /*
+     * Writes the source indexes of the elements that match the predicate to
+     * the given array and returns their number. With a narrower predicate,
+     * only the elements in this list are tested. The array may be filtered
+     * itself, as no index is written past the one being read.
+     */
+    private int filter(Predicate<? super E> pred, int[] result) {
+        final int count = narrowing ? size : getSource().size();
+        if (count >= PARALLEL_FILTER_THRESHOLD && isParallelFilter()) {
+            return filterInParallel(pred, result, count);
+        }
+        int newSize = 0;
+        if (narrowing) {
+            for (int i = 0; i < count; ++i) {
+                final int index = filtered[i];
+                if (pred.test(getSource().get(index))) {
+                    result[newSize++] = index;
+                }
+            }
+        } else {
+            int i = 0;
+            for (Iterator<? extends E> it = getSource().iterator(); it.hasNext(); ++i) {
+                if (pred.test(it.next())) {
+                    result[newSize++] = i;
+                }
+            }
         }
-        size = 0;
+        return newSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int filterInParallel(Predicate<? super E> pred, int[] result, int count) {
+        // The predicate runs on other threads, so it is given a copy of the
+        // elements rather than the source list
+        final Object[] elements;
+        if (narrowing) {
+            elements = new Object[count];
+            for (int i = 0; i < count; ++i) {
+                elements[i] = getSource().get(filtered[i]);
+            }
+        } else {
+            elements = getSource().toArray();
+        }
+        if (matches == null || matches.length < count) {
+            matches = new boolean[count];
+        }
+        final boolean[] m = matches;
+        IntStream.range(0, count).parallel()
+                .forEach(i -> m[i] = pred.test((E) elements[i]));
+
+        int newSize = 0;
+        for (int i = 0; i < count; ++i) {
+            if (m[i]) {
+                result[newSize++] = narrowing ? filtered[i] : i;
+            }
+        }
+        return newSize;
+    }
+
+    /*
+     * Replaces the filtered indexes and reports only the runs of elements
+     * that were removed or added, in a single change. Both arrays are sorted
+     * by source index, so they are walked together. A single run, or a
+     * difference made of many small runs, is reported as one replacement,
+     * which is cheaper to build and for listeners to process.
+     */
+    private void fireDifference(int[] newFiltered, int newSize) {
+        final int[] oldFiltered = filtered;
+        final int oldSize = size;
+        filtered = newFiltered;
+        size = newSize;
+        spare = oldFiltered;
+
+        final int maxRuns = Math.max(MIN_DIFFERENCE_RUNS, (oldSize + newSize) / 16);
+        final int runs = countRuns(oldFiltered, oldSize, newFiltered, newSize, maxRuns);
+        if (runs == 0) {
+            return;
+        }
+        if (runs == 1 || runs > maxRuns) {
+            // Replace everything between the indexes that are kept at the
+            // start and at the end, which for a single run is exact
+            int from = 0;
+            while (from < oldSize && from < newSize && oldFiltered[from] == newFiltered[from]) {
+                ++from;
+            }
+            int oldTo = oldSize;
+            int newTo = newSize;
+            while (oldTo > from && newTo > from && oldFiltered[oldTo - 1] == newFiltered[newTo - 1]) {
+                --oldTo;
+                --newTo;
+            }
+            final List<E> removed = new ArrayList<>(oldTo - from);
+            for (int i = from; i < oldTo; ++i) {
+                removed.add(getSource().get(oldFiltered[i]));
+            }
+            fireChange(new GenericAddRemoveChange<>(from, newTo, removed, this));
+            return;
+        }
+
+        beginChange();
         int i = 0;
-        Predicate<? super E> pred = getPredicateImpl();
-        for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
-            final E next = it.next();
-            if (pred.test(next)) {
-                filtered[size++] = i;
+        int j = 0;
+        int pos = 0;
+        while (i < oldSize || j < newSize) {
+            if (j == newSize || i < oldSize && oldFiltered[i] < newFiltered[j]) {
+                final List<E> removed = new ArrayList<>();
+                do {
+                    removed.add(getSource().get(oldFiltered[i++]));
+                } while (i < oldSize && (j == newSize || oldFiltered[i] < newFiltered[j]));
+                nextRemove(pos, removed);
+            } else if (i == oldSize || newFiltered[j] < oldFiltered[i]) {
+                final int from = pos;
+                do {
+                    ++j;
+                    ++pos;
+                } while (j < newSize && (i == oldSize || newFiltered[j] < oldFiltered[i]));
+                nextAdd(from, pos);
+            } else {
+                ++i;
+                ++j;
+                ++pos;
             }
-            ++i;
         }
-        if (hasListeners()) {
-            fireChange(new GenericAddRemoveChange<>(0, size, removed, this));
+        endChange();
+    }
+
+    /*
+     * Counts the runs of removed and added indexes, stopping as soon as
+     * there are more than the given maximum.
+     */
+    private static int countRuns(int[] oldFiltered, int oldSize, int[] newFiltered, int newSize, int max) {
+        if (oldSize == 0 || newSize == 0) {
+            // Everything was removed or added, if anything
+            return oldSize == newSize ? 0 : 1;
+        }
+        int runs = 0;
+        int last = 0;
+        int i = 0;
+        int j = 0;
+        while ((i < oldSize || j < newSize) && runs <= max) {
+            final int kind;
+            if (j == newSize || i < oldSize && oldFiltered[i] < newFiltered[j]) {
+                kind = -1;
+                ++i;
+            } else if (i == oldSize || newFiltered[j] < oldFiltered[i]) {
+                kind = 1;
+                ++j;
+            } else {
+                kind = 0;
+                ++i;
+                ++j;
+            }
+            if (kind != 0 && kind != last) {
+                ++runs;
+            }
+            last = kind;
         }
+        return runs;
     }
 
 }
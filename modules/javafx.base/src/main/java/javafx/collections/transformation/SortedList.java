@@ -35,8 +35,10 @@ import java.util.Comparator;
 import java.util.List;
 
 import javafx.beans.NamedArg;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 
@@ -62,6 +64,10 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     private final Element<E> tempElement = new Element<>(null, -1);
 
+    // Lists smaller than this are not worth sorting in parallel. This is the
+    // granularity below which Arrays.parallelSort sorts sequentially.
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
 
     /**
      * Creates a new SortedList wrapped around the source list.
@@ -155,6 +161,40 @@ public final class SortedList<E> extends TransformationList<E, E>{
         comparatorProperty().set(comparator);
     }
 
+    /**
+     * Whether large lists are sorted in parallel. If true, a list with
+     * thousands of elements is sorted with
+     * {@link Arrays#parallelSort(Object[], int, int, Comparator)} when the
+     * comparator changes, when elements are updated, and when many elements
+     * are added at once. The comparator is then called from threads other
+     * than the one that changes the source list, so it must be thread-safe
+     * and must not access state that is confined to the JavaFX Application
+     * Thread.
+     *
+     * @defaultValue false
+     * @since 18
+     */
+    private BooleanProperty parallelSort;
+
+    public final BooleanProperty parallelSortProperty() {
+        if (parallelSort == null) {
+            parallelSort = new SimpleBooleanProperty(this, "parallelSort");
+        }
+        return parallelSort;
+    }
+
+    public final boolean isParallelSort() {
+        return parallelSort != null && parallelSort.get();
+    }
+
+    public final void setParallelSort(boolean value) {
+        parallelSortProperty().set(value);
+    }
+
+    private boolean sortsInParallel(int count) {
+        return count >= PARALLEL_SORT_THRESHOLD && isParallelSort();
+    }
+
     /**
      * Returns the element at the specified position in this list.
      *
@@ -182,10 +222,7 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     private void doSortWithPermutationChange() {
         if (elementComparator != null) {
-            int[] perm = helper.sort(sorted, 0, size, elementComparator);
-            for (int i = 0; i < size; i++) {
-                this.perm[sorted[i].index] = i;
-            }
+            int[] perm = sortMapping();
             fireChange(new SimplePermutationChange<>(0, size, perm, this));
         } else {
             int[] perm = new int[size];
@@ -354,11 +391,93 @@ public final class SortedList<E> extends TransformationList<E, E>{
         for (int i = 0; i < to; ++i) {
             sorted[i] = new Element<E>(list.get(i), i);
         }
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        System.arraycopy(perm, 0, this.perm, 0, size);
+        if (sortsInParallel(size)) {
+            Arrays.parallelSort(sorted, 0, size, elementComparator);
+            for (int i = 0; i < size; i++) {
+                this.perm[sorted[i].index] = i;
+            }
+        } else {
+            int[] perm = helper.sort(sorted, 0, size, elementComparator);
+            System.arraycopy(perm, 0, this.perm, 0, size);
+        }
         nextAdd(0, size);
     }
 
+    /*
+     * Sorts the whole mapping and returns the permutation from the old to
+     * the new view indexes.
+     */
+    private int[] sortMapping() {
+        int[] perm;
+        if (sortsInParallel(size)) {
+            Arrays.parallelSort(sorted, 0, size, elementComparator);
+            perm = new int[size];
+            for (int i = 0; i < size; i++) {
+                perm[this.perm[sorted[i].index]] = i;
+            }
+        } else {
+            perm = helper.sort(sorted, 0, size, elementComparator);
+        }
+        for (int i = 0; i < size; i++) {
+            this.perm[sorted[i].index] = i;
+        }
+        return perm;
+    }
+
+    /*
+     * Adds the source elements from..to with a single merge pass, rather than
+     * inserting them one by one, which shifts the arrays for every element.
+     */
+    private void mergeToMapping(List<? extends E> list, int from, int to) {
+        final int count = to - from;
+        @SuppressWarnings("unchecked")
+        final Element<E>[] added = (Element<E>[]) new Element[count];
+        for (int i = from; i < to; ++i) {
+            added[i - from] = new Element<E>(list.get(i), i);
+        }
+        if (sortsInParallel(count)) {
+            Arrays.parallelSort(added, elementComparator);
+        } else {
+            helper.sort(added, 0, count, elementComparator);
+        }
+
+        for (int i = 0; i < size; ++i) {
+            if (sorted[i].index >= from) {
+                sorted[i].index += count;
+            }
+        }
+
+        // Merge from the back so that it can be done in place. Existing
+        // elements stay in front of added elements that compare equal.
+        ensureSize(size + count);
+        int i = size - 1;
+        int j = count - 1;
+        for (int k = size + count - 1; j >= 0; --k) {
+            if (i >= 0 && elementComparator.compare(sorted[i], added[j]) > 0) {
+                sorted[k] = sorted[i--];
+            } else {
+                sorted[k] = added[j--];
+            }
+        }
+        size += count;
+
+        int runStart = -1;
+        for (int k = 0; k < size; ++k) {
+            final int index = sorted[k].index;
+            perm[index] = k;
+            final boolean isAdded = index >= from && index < to;
+            if (isAdded && runStart < 0) {
+                runStart = k;
+            } else if (!isAdded && runStart >= 0) {
+                nextAdd(runStart, k);
+                runStart = -1;
+            }
+        }
+        if (runStart >= 0) {
+            nextAdd(runStart, size);
+        }
+    }
+
     private void removeFromMapping(int idx, E e) {
         int pos = perm[idx];
         System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
@@ -370,6 +489,33 @@ public final class SortedList<E> extends TransformationList<E, E>{
         nextRemove(pos, e);
     }
 
+    /*
+     * Removes the source elements from..from+count with a single pass over
+     * the mapping, rather than removing them one by one.
+     */
+    private void removeRangeFromMapping(int from, int count) {
+        final int to = from + count;
+        int j = 0;
+        for (int i = 0; i < size; ++i) {
+            final Element<E> element = sorted[i];
+            if (element.index >= from && element.index < to) {
+                // Removals are reported in ascending order, so the element
+                // is at j once the elements before it have been removed
+                nextRemove(j, element.e);
+                continue;
+            }
+            if (element.index >= to) {
+                element.index -= count;
+            }
+            sorted[j++] = element;
+        }
+        Arrays.fill(sorted, j, size, null);
+        size = j;
+        for (int i = 0; i < size; ++i) {
+            perm[sorted[i].index] = i;
+        }
+    }
+
     private void removeAllFromMapping() {
         List<E> removed = new ArrayList(this);
         for (int i = 0; i < size; ++i) {
@@ -380,10 +526,7 @@ public final class SortedList<E> extends TransformationList<E, E>{
     }
 
     private void update(Change<? extends E> c) {
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        for (int i = 0; i < size; i++) {
-            this.perm[sorted[i].index] = i;
-        }
+        int[] perm = sortMapping();
         nextPermutation(0, size, perm);
         for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
             nextUpdate(this.perm[i]);
@@ -393,6 +536,8 @@ public final class SortedList<E> extends TransformationList<E, E>{
     private void addRemove(Change<? extends E> c) {
         if (c.getFrom() == 0 && c.getRemovedSize() == size) {
             removeAllFromMapping();
+        } else if (c.getRemovedSize() > 1) {
+            removeRangeFromMapping(c.getFrom(), c.getRemovedSize());
         } else {
             for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
                 removeFromMapping(c.getFrom(), c.getRemoved().get(i));
@@ -401,6 +546,8 @@ public final class SortedList<E> extends TransformationList<E, E>{
         if (size == 0) {
             setAllToMapping(c.getList(), c.getTo()); // This is basically equivalent to getAddedSubList
                                                      // as size is 0, only valid "from" is also 0
+        } else if (c.getAddedSize() > 1) {
+            mergeToMapping(c.getList(), c.getFrom(), c.getTo());
         } else {
             for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
                 insertToMapping(c.getList().get(i), i);
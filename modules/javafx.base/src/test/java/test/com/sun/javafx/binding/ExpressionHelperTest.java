@@ -490,6 +490,83 @@ public class ExpressionHelperTest {
         changeListener[2].check(null, UNDEFINED, UNDEFINED, 0);
     }
 
+    @Test
+    public void testRemoveInvalidationAfterNestedNotification() {
+        final InvalidationListener nestingListener = new InvalidationListener() {
+            boolean nested = false;
+            @Override public void invalidated(Observable observable) {
+                if (!nested) {
+                    nested = true;
+                    ExpressionHelper.fireValueChangedEvent(helper);
+                }
+            }
+        };
+        final InvalidationListener removingListener = new InvalidationListener() {
+            int count = 0;
+            @Override public void invalidated(Observable observable) {
+                if (++count == 2) {
+                    helper = ExpressionHelper.removeListener(helper, invalidationListener[0]);
+                }
+            }
+        };
+        helper = ExpressionHelper.addListener(helper, observable, nestingListener);
+        helper = ExpressionHelper.addListener(helper, observable, removingListener);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 2);
+        invalidationListener[1].check(observable, 2);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+    }
+
+    @Test
+    public void testRemoveChangeKeepsCurrentValue() {
+        helper = ExpressionHelper.addListener(helper, observable, changeListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, changeListener[1]);
+        observable.set(DATA_2);
+        helper = ExpressionHelper.removeListener(helper, changeListener[1]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        changeListener[0].check(observable, DATA_1, DATA_2, 1);
+        changeListener[1].check(null, UNDEFINED, UNDEFINED, 0);
+
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, changeListener[1]);
+        observable.set(DATA_1);
+        helper = ExpressionHelper.removeListener(helper, changeListener[1]);
+        helper = ExpressionHelper.removeListener(helper, invalidationListener[0]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        changeListener[0].check(observable, DATA_2, DATA_1, 1);
+        invalidationListener[0].check(null, 0);
+    }
+
+    @Test
+    public void testRemoveManyInvalidations() {
+        final InvalidationListenerMock[] listeners = new InvalidationListenerMock[20];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = new InvalidationListenerMock();
+            helper = ExpressionHelper.addListener(helper, observable, listeners[i]);
+        }
+        for (int i = 0; i < listeners.length - 3; i++) {
+            helper = ExpressionHelper.removeListener(helper, listeners[i]);
+        }
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].check(i < listeners.length - 3? null : observable, i < listeners.length - 3? 0 : 1);
+        }
+
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        ExpressionHelper.fireValueChangedEvent(helper);
+        listeners[listeners.length - 1].check(observable, 1);
+        invalidationListener[0].check(observable, 1);
+    }
+
     @Test
     public void testFireValueChangedEvent() {
         helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
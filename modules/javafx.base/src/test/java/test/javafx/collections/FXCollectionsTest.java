@@ -672,6 +672,160 @@ public class FXCollectionsTest {
         assertEquals(5, set.size());
     }
 
+    @Test
+    public void batchListTest() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b", "c");
+        ReplayingListObserver<String> observer = ReplayingListObserver.observe(list);
+
+        FXCollections.batch(() -> {
+            list.add("d");
+            list.set(0, "x");
+            list.remove("b");
+            list.add(1, "y");
+            assertEquals(0, observer.getChangeCount());
+        });
+
+        assertEquals(1, observer.getChangeCount());
+        assertEquals(Arrays.asList("x", "y", "c", "d"), list);
+        assertEquals(list, observer.getReplayed());
+    }
+
+    @Test
+    public void batchSortedListTest() {
+        ObservableList<Integer> list = FXCollections.observableArrayList();
+        ObservableList<Integer> sorted = list.sorted();
+        ReplayingListObserver<Integer> observer = ReplayingListObserver.observe(sorted);
+
+        FXCollections.batch(() -> {
+            for (int i = 0; i < 100; i++) {
+                list.add((i * 37) % 100);
+            }
+        });
+
+        assertEquals(1, observer.getChangeCount());
+        assertEquals(100, sorted.size());
+        assertEquals(sorted, observer.getReplayed());
+    }
+
+    @Test
+    public void batchMapTest() {
+        ObservableMap<String, Integer> map = FXCollections.observableHashMap();
+        map.put("a", 1);
+        map.put("b", 2);
+        MockMapObserver<String, Integer> observer = new MockMapObserver<>();
+        map.addListener(observer);
+
+        FXCollections.batch(() -> {
+            map.put("a", 10);
+            map.put("a", 11);
+            map.put("c", 3);
+            map.remove("c");
+            map.remove("b");
+            map.put("b", 2);
+            map.put("d", 4);
+            observer.check0();
+        });
+
+        observer.assertMultipleCalls(MockMapObserver.Call.call("a", 1, 11), MockMapObserver.Call.call("d", null, 4));
+    }
+
+    @Test
+    public void batchSetTest() {
+        ObservableSet<String> set = FXCollections.observableSet("a");
+        MockSetObserver<String> observer = new MockSetObserver<>();
+        set.addListener(observer);
+
+        FXCollections.batch(() -> {
+            set.add("b");
+            set.remove("b");
+            set.remove("a");
+            set.add("c");
+            observer.check0();
+        });
+
+        observer.assertMultipleCalls(MockSetObserver.Call.call("a", null), MockSetObserver.Call.call(null, "c"));
+    }
+
+    @Test
+    public void nestedBatchNotifiesWhenOutermostBatchEnds() {
+        ObservableList<String> list = FXCollections.observableArrayList();
+        int[] changes = new int[1];
+        list.addListener((ListChangeListener<String>) c -> changes[0]++);
+
+        FXCollections.batch(() -> {
+            FXCollections.batch(() -> list.add("a"));
+            assertEquals(0, changes[0]);
+            list.add("b");
+        });
+
+        assertEquals(1, changes[0]);
+        list.add("c");
+        assertEquals(2, changes[0]);
+    }
+
+    @Test
+    public void batchNotifiesWhenActionThrows() {
+        ObservableList<String> list = FXCollections.observableArrayList();
+        int[] changes = new int[1];
+        list.addListener((ListChangeListener<String>) c -> changes[0]++);
+
+        try {
+            FXCollections.batch(() -> {
+                list.add("a");
+                throw new IllegalStateException();
+            });
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+        }
+
+        assertEquals(1, changes[0]);
+        list.add("b");
+        assertEquals(2, changes[0]);
+    }
+
+    @Test
+    public void batchNotifiesAllCollectionsWhenAFlushThrows() {
+        ObservableList<String> first = FXCollections.observableArrayList();
+        ObservableList<String> second = FXCollections.observableArrayList();
+        ObservableList<String> third = FXCollections.observableArrayList();
+        first.addListener((ListChangeListener<String>) c -> {
+            throw new IllegalStateException("first");
+        });
+        ReplayingListObserver<String> secondObserver = ReplayingListObserver.observe(second);
+        ReplayingListObserver<String> thirdObserver = ReplayingListObserver.observe(third);
+
+        // The default handler only prints listener exceptions, so rethrow
+        // them as an application's handler might
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((t, e) -> {
+            throw (RuntimeException) e;
+        });
+        try {
+            FXCollections.batch(() -> {
+                first.add("a");
+                second.add("b");
+                third.add("c");
+            });
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertEquals("first", ex.getMessage());
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(1, secondObserver.getChangeCount());
+        assertEquals(1, thirdObserver.getChangeCount());
+
+        // none of the lists is left with an open change
+        second.add("d");
+        third.add("e");
+        assertEquals(2, secondObserver.getChangeCount());
+        assertEquals(2, thirdObserver.getChangeCount());
+        assertEquals(second, secondObserver.getReplayed());
+        assertEquals(third, thirdObserver.getReplayed());
+    }
+
     @Test
     public void synchronizedMapIterationProtectionTest() {
         testIterationProtection(FXCollections.synchronizedObservableMap(FXCollections.observableHashMap()), this::putRandomValue, this::copyMap);
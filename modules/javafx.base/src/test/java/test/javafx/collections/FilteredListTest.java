@@ -26,6 +26,7 @@
 package test.javafx.collections;
 
 import com.sun.javafx.collections.ObservableListWrapper;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -33,6 +34,7 @@ import java.util.function.Predicate;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableListWrapperShim;
 import javafx.collections.transformation.FilteredList;
@@ -153,7 +155,7 @@ public class FilteredListTest {
         assertEquals(Arrays.asList("a", "d"), filteredList);
         mlo.check0();
         pProperty.set((String s) -> !s.equals("d"));
-        mlo.check1AddRemove(filteredList, Arrays.asList("a", "d"), 0, 3);
+        mlo.check1AddRemove(filteredList, Arrays.asList("d"), 1, 3);
         compareIndices();
     }
 
@@ -295,7 +297,9 @@ public class FilteredListTest {
         filteredList.setPredicate(null);
         assertEquals(list.size(), filteredList.size());
         assertEquals(list, filteredList);
-        mlo.check1AddRemove(filteredList, Arrays.asList("a", "d"), 0, 4);
+        mlo.checkN(2);
+        mlo.checkAddRemove(0, filteredList, Collections.emptyList(), 1, 2);
+        mlo.checkAddRemove(1, filteredList, Collections.emptyList(), 3, 4);
         compareIndices();
     }
 
@@ -306,4 +310,201 @@ public class FilteredListTest {
         assertEquals(list, filteredList);
         compareIndices();
     }
+
+    @Test
+    public void testChangePredicateReportsOnlyDifference() {
+        list.addAll("e", "f");
+        mlo.clear();
+        filteredList.setPredicate((String e) -> !e.equals("a") && !e.equals("c"));
+        assertEquals(Arrays.asList("d", "e", "f"), filteredList);
+        mlo.check1AddRemove(filteredList, Arrays.asList("a"), 0, 0);
+        compareIndices();
+    }
+
+    @Test
+    public void testNarrowerPredicate() {
+        list.addAll("ab", "abc", "b");
+        filteredList.setPredicate((String e) -> e.startsWith("a"));
+        assertEquals(Arrays.asList("a", "ab", "abc"), filteredList);
+        mlo.clear();
+
+        List<String> tested = new ArrayList<>();
+        filteredList.setNarrowerPredicate((String e) -> {
+            tested.add(e);
+            return e.startsWith("ab");
+        });
+        assertEquals(Arrays.asList("a", "ab", "abc"), tested);
+        assertEquals(Arrays.asList("ab", "abc"), filteredList);
+        mlo.check1AddRemove(filteredList, Arrays.asList("a"), 0, 0);
+        compareIndices();
+    }
+
+    @Test
+    public void testParallelFilter() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 50000; i++) {
+            source.add(i);
+        }
+        FilteredList<Integer> filtered = new FilteredList<>(source);
+        filtered.setParallelFilter(true);
+        assertTrue(filtered.isParallelFilter());
+        int[] changes = new int[1];
+        filtered.addListener((ListChangeListener<Integer>) c -> changes[0]++);
+
+        filtered.setPredicate(i -> i % 3 == 0);
+        assertEquals(1, changes[0]);
+        assertEquals(16667, filtered.size());
+        for (int i = 0; i < filtered.size(); i++) {
+            assertEquals(i * 3, (int) filtered.get(i));
+        }
+        compareIndices(filtered);
+
+        filtered.setNarrowerPredicate(i -> i % 6 == 0);
+        assertEquals(8334, filtered.size());
+        for (int i = 0; i < filtered.size(); i++) {
+            assertEquals(i * 6, (int) filtered.get(i));
+        }
+        compareIndices(filtered);
+    }
+
+    private static <E> List<String> recordChanges(ObservableList<E> list) {
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<E>) c -> {
+            StringBuilder sb = new StringBuilder();
+            while (c.next()) {
+                sb.append('[').append(c.getFrom()).append(' ').append(c.getRemoved())
+                        .append(' ').append(c.getAddedSubList()).append(']');
+            }
+            changes.add(sb.toString());
+        });
+        return changes;
+    }
+
+    private static FilteredList<Integer> filteredRange(int size) {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < size; i++) {
+            source.add(i);
+        }
+        return new FilteredList<>(source);
+    }
+
+    @Test
+    public void testNarrowerPredicateReportsSameChangeAsPredicate() {
+        FilteredList<Integer> narrowed = filteredRange(1000);
+        FilteredList<Integer> replaced = filteredRange(1000);
+        narrowed.setPredicate(i -> i % 10 < 5);
+        replaced.setPredicate(i -> i % 10 < 5);
+        List<String> narrowedChanges = recordChanges(narrowed);
+        List<String> replacedChanges = recordChanges(replaced);
+        ReplayingListObserver<Integer> observer = ReplayingListObserver.observe(narrowed);
+
+        int[] tested = new int[2];
+        narrowed.setNarrowerPredicate(i -> {
+            tested[0]++;
+            return i % 10 < 2;
+        });
+        replaced.setPredicate(i -> {
+            tested[1]++;
+            return i % 10 < 2;
+        });
+        // Only the 500 elements in the list are tested when narrowing
+        assertEquals(500, tested[0]);
+        assertEquals(1000, tested[1]);
+        assertEquals(replaced, narrowed);
+        assertEquals(1, narrowedChanges.size());
+        assertEquals(replacedChanges, narrowedChanges);
+        assertEquals(narrowed, observer.getReplayed());
+        compareIndices(narrowed);
+    }
+
+    @Test
+    public void testNarrowerPredicateWithoutListeners() {
+        FilteredList<Integer> filtered = filteredRange(100);
+        filtered.setPredicate(i -> i % 2 == 0);
+        int[] tested = new int[1];
+        filtered.setNarrowerPredicate(i -> {
+            tested[0]++;
+            return i % 4 == 0;
+        });
+        assertEquals(50, tested[0]);
+        assertEquals(25, filtered.size());
+        for (int i = 0; i < filtered.size(); i++) {
+            assertEquals(i * 4, (int) filtered.get(i));
+        }
+        compareIndices(filtered);
+    }
+
+    @Test
+    public void testChangePredicateReportsRuns() {
+        FilteredList<Integer> filtered = filteredRange(100);
+        List<String> changes = recordChanges(filtered);
+        filtered.setPredicate(i -> i < 10 || i >= 20 && i < 95);
+        assertEquals(Arrays.asList("[10 [10, 11, 12, 13, 14, 15, 16, 17, 18, 19] []]"
+                + "[85 [95, 96, 97, 98, 99] []]"), changes);
+
+        changes.clear();
+        filtered.setPredicate(i -> i < 15 || i >= 20);
+        assertEquals(Arrays.asList("[10 [] [10, 11, 12, 13, 14]][90 [] [95, 96, 97, 98, 99]]"), changes);
+        compareIndices(filtered);
+    }
+
+    @Test
+    public void testChangePredicateWithManyRunsReportsReplace() {
+        FilteredList<Integer> filtered = filteredRange(10000);
+        ReplayingListObserver<Integer> observer = ReplayingListObserver.observe(filtered);
+        List<String> changes = new ArrayList<>();
+        filtered.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + " " + c.getRemovedSize() + " " + c.getAddedSize());
+            }
+        });
+        filtered.setPredicate(i -> i % 2 == 0);
+        // The first element is kept, everything after it is replaced
+        assertEquals(Arrays.asList("1 9999 4999"), changes);
+        assertEquals(5000, filtered.size());
+        assertEquals(filtered, observer.getReplayed());
+        compareIndices(filtered);
+    }
+
+    @Test
+    public void testChangePredicateWithSameResultReportsNothing() {
+        mlo.clear();
+        filteredList.setPredicate((String e) -> !e.equals("c") && !e.equals("x"));
+        mlo.check0();
+        compareIndices();
+    }
+
+    @Test
+    public void testParallelFilterProperty() {
+        assertFalse(filteredList.isParallelFilter());
+        assertFalse(filteredList.parallelFilterProperty().get());
+        assertSame(filteredList, filteredList.parallelFilterProperty().getBean());
+        assertEquals("parallelFilter", filteredList.parallelFilterProperty().getName());
+        filteredList.parallelFilterProperty().set(true);
+        assertTrue(filteredList.isParallelFilter());
+        filteredList.setParallelFilter(false);
+        assertFalse(filteredList.parallelFilterProperty().get());
+    }
+
+    @Test
+    public void testParallelFilterReportsSameChangeAsSequential() {
+        FilteredList<Integer> parallel = filteredRange(50000);
+        FilteredList<Integer> sequential = filteredRange(50000);
+        parallel.setParallelFilter(true);
+        List<String> parallelChanges = recordChanges(parallel);
+        List<String> sequentialChanges = recordChanges(sequential);
+
+        Predicate<Integer> blocks = i -> i / 1000 % 3 != 1;
+        parallel.setPredicate(blocks);
+        sequential.setPredicate(blocks);
+        parallel.setNarrowerPredicate(i -> i < 40000);
+        sequential.setNarrowerPredicate(i -> i < 40000);
+        parallel.setPredicate(null);
+        sequential.setPredicate(null);
+
+        assertEquals(3, parallelChanges.size());
+        assertEquals(sequentialChanges, parallelChanges);
+        assertEquals(sequential, parallel);
+        compareIndices(parallel);
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * An observer that applies the changes it is notified of to a plain copy of
+ * the list, so that tests can check that the changes describe the list
+ * exactly. It also counts the notifications.
+ */
+public class ReplayingListObserver<E> implements ListChangeListener<E> {
+
+    private final List<E> replayed;
+    private int changeCount;
+
+    public ReplayingListObserver(List<? extends E> initial) {
+        replayed = new ArrayList<>(initial);
+    }
+
+    /**
+     * Creates an observer starting from the current content of the list and
+     * adds it to the list.
+     */
+    public static <E> ReplayingListObserver<E> observe(ObservableList<E> list) {
+        ReplayingListObserver<E> observer = new ReplayingListObserver<>(list);
+        list.addListener(observer);
+        return observer;
+    }
+
+    @Override
+    public void onChanged(Change<? extends E> c) {
+        changeCount++;
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                List<E> copy = new ArrayList<>(replayed.subList(c.getFrom(), c.getTo()));
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    replayed.set(c.getPermutation(i), copy.get(i - c.getFrom()));
+                }
+            } else if (!c.wasUpdated()) {
+                replayed.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                replayed.addAll(c.getFrom(), c.getAddedSubList());
+            }
+        }
+    }
+
+    /** The list as rebuilt from the changes */
+    public List<E> getReplayed() {
+        return replayed;
+    }
+
+    /** The number of times onChanged was called */
+    public int getChangeCount() {
+        return changeCount;
+    }
+}
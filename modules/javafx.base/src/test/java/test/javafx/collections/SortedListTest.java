@@ -34,6 +34,7 @@ import java.util.Collections;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.Random;
 
 import javafx.beans.Observable;
 import javafx.beans.property.SimpleObjectProperty;
@@ -595,4 +596,73 @@ public class SortedListTest {
         mockListObserver.check1Permutation(sortedList, new int[] {0, 3, 2, 1});
         compareIndices();
     }
+
+    @Test
+    public void testBulkAdd() {
+        ReplayingListObserver<String> observer = ReplayingListObserver.observe(sortedList);
+        list.addAll(1, Arrays.asList("e", "b", "c", "a", "f"));
+        assertEquals(Arrays.asList("a", "a", "b", "c", "c", "c", "d", "e", "f"), sortedList);
+        assertEquals(sortedList, observer.getReplayed());
+        compareIndices();
+    }
+
+    @Test
+    public void testBulkRemove() {
+        list.addAll("b", "e");
+        ReplayingListObserver<String> observer = ReplayingListObserver.observe(sortedList);
+        list.remove(1, 4);
+        assertEquals(Arrays.asList("a", "b", "e"), sortedList);
+        assertEquals(sortedList, observer.getReplayed());
+        compareIndices();
+    }
+
+    @Test
+    public void testBulkReplace() {
+        ReplayingListObserver<String> observer = ReplayingListObserver.observe(sortedList);
+        list.setAll("x", "c", "b");
+        list.subList(1, 3).clear();
+        list.addAll(0, Arrays.asList("z", "a", "y"));
+        assertEquals(Arrays.asList("a", "x", "y", "z"), sortedList);
+        assertEquals(sortedList, observer.getReplayed());
+        compareIndices();
+    }
+
+    @Test
+    public void testParallelSort() {
+        Random random = new Random(42);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            values.add(random.nextInt(5000));
+        }
+        ObservableList<Integer> source = FXCollections.observableArrayList(values);
+        SortedList<Integer> sorted = new SortedList<>(source);
+        sorted.setParallelSort(true);
+        assertTrue(sorted.isParallelSort());
+        ReplayingListObserver<Integer> observer = ReplayingListObserver.observe(sorted);
+
+        sorted.setComparator(Comparator.<Integer>naturalOrder());
+        assertEquals(1, observer.getChangeCount());
+        List<Integer> expected = new ArrayList<>(values);
+        Collections.sort(expected);
+        assertEquals(expected, sorted);
+        assertEquals(expected, observer.getReplayed());
+        compareIndices(sorted);
+
+        List<Integer> more = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            more.add(random.nextInt(5000));
+        }
+        source.addAll(5000, more);
+        expected.addAll(more);
+        Collections.sort(expected);
+        assertEquals(expected, sorted);
+        assertEquals(expected, observer.getReplayed());
+        compareIndices(sorted);
+
+        sorted.setComparator(Comparator.<Integer>reverseOrder());
+        Collections.reverse(expected);
+        assertEquals(expected, sorted);
+        assertEquals(expected, observer.getReplayed());
+        compareIndices(sorted);
+    }
 }
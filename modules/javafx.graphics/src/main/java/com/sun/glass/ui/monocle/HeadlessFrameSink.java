@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.glass.ui.monocle;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the frames composed on the headless screen, for example to encode
+ * them as video when rendering offline.
+ *
+ * A sink is installed by setting the system property
+ * {@code headless.frameSink} to the name of a class implementing this
+ * interface and having a public no-argument constructor.
+ *
+ * Frames are only delivered at the rate at which pulses are produced. To
+ * render an animation as fast as possible rather than at the refresh rate,
+ * also set {@code quantum.offline} and
+ * {@code com.sun.scenario.animation.fixed.pulse.length} to true. Animation
+ * time then advances by one frame duration on each pulse and every pulse is
+ * rendered and delivered before the next one starts.
+ */
+public interface HeadlessFrameSink {
+
+    /**
+     * Called on the event thread each time a frame has been composed. The
+     * next frame is not composed until this method returns.
+     *
+     * @param frame a read-only view of the screen contents in
+     *              {@code BYTE_BGRA_PRE} format, with no padding between
+     *              rows. The buffer is only valid for the duration of this
+     *              call.
+     * @param width the width of the screen in pixels
+     * @param height the height of the screen in pixels
+     * @param frameNumber the number of frames delivered before this one
+     */
+    void frameComposed(ByteBuffer frame, int width, int height,
+                       long frameNumber);
+
+}
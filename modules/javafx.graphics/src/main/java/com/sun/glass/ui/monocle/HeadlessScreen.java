@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2021, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -39,6 +39,8 @@ class HeadlessScreen implements NativeScreen {
     protected int width;
     protected int height;
     protected Framebuffer fb;
+    private HeadlessFrameSink frameSink;
+    private long frameCount;
 
     HeadlessScreen() {
         this(1280, 800, 32);
@@ -71,6 +73,17 @@ class HeadlessScreen implements NativeScreen {
         ByteBuffer bb = ByteBuffer.allocate(width * height * (depth >>> 3));
         bb.order(ByteOrder.nativeOrder());
         fb = new Framebuffer(bb, width, height, depth, true);
+        @SuppressWarnings("removal")
+        String sinkName = AccessController.doPrivileged((PrivilegedAction<String>) () -> System.getProperty("headless.frameSink"));
+        if (sinkName != null) {
+            try {
+                ClassLoader loader = Thread.currentThread().getContextClassLoader();
+                frameSink = (HeadlessFrameSink) loader.loadClass(sinkName).getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                System.err.println("Cannot install frame sink '" + sinkName + "'");
+                e.printStackTrace();
+            }
+        }
     }
 
     @Override
@@ -121,6 +134,15 @@ class HeadlessScreen implements NativeScreen {
 
     @Override
     public void swapBuffers() {
+        if (frameSink != null && fb.hasReceivedData()) {
+            ByteBuffer frame = fb.getBuffer().asReadOnlyBuffer();
+            frame.order(ByteOrder.nativeOrder());
+            try {
+                frameSink.frameComposed(frame, width, height, frameCount++);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
         fb.reset();
     }
 
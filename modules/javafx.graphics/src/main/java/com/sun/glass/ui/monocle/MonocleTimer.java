@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2021, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,7 @@
 
 package com.sun.glass.ui.monocle;
 
+import com.sun.glass.ui.Application;
 import com.sun.glass.ui.Timer;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -39,8 +40,21 @@ final class MonocleTimer extends Timer {
     private static ScheduledThreadPoolExecutor scheduler;
     private ScheduledFuture<?> task;
 
+    // Used instead of the scheduler when the timer is started with a period
+    // of zero. The runnable is then run again as soon as the work it posted
+    // to the event thread is done, without sleeping in between.
+    private Thread loop;
+    private boolean paused;
+    private final Runnable waitForEventThread;
+
     MonocleTimer(final Runnable runnable) {
+        this(runnable, () -> Application.invokeAndWait(() -> { }));
+    }
+
+    // package for testing
+    MonocleTimer(final Runnable runnable, final Runnable waitForEventThread) {
         super(runnable);
+        this.waitForEventThread = waitForEventThread;
     }
 
     static int getMinPeriod_impl() {
@@ -52,6 +66,13 @@ final class MonocleTimer extends Timer {
     }
 
     @Override protected long _start(final Runnable runnable, int period) {
+        if (period == 0) {
+            paused = false;
+            loop = new Thread(() -> runLoop(runnable), THREAD_NAME);
+            loop.setDaemon(true);
+            loop.start();
+            return 1;
+        }
         if (scheduler == null) {
             scheduler = new ScheduledThreadPoolExecutor(1, target -> {
                 Thread thread = new Thread(target, THREAD_NAME);
@@ -68,14 +89,54 @@ final class MonocleTimer extends Timer {
         throw new RuntimeException("vsync timer not supported");
     }
 
+    private void runLoop(Runnable runnable) {
+        final Thread thread = Thread.currentThread();
+        while (true) {
+            synchronized (this) {
+                while (paused && loop == thread) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // keep waiting until resumed or stopped
+                    }
+                }
+                if (loop != thread) {
+                    return;
+                }
+            }
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                t.printStackTrace();
+            }
+            // Wait for the event thread to process whatever the runnable
+            // posted, so that a posted pulse completes before the next one
+            waitForEventThread.run();
+        }
+    }
+
     @Override protected void _stop(long timer) {
         if (task != null) {
             task.cancel(false);
             task = null;
         }
+        if (loop != null) {
+            loop = null;
+            notifyAll();
+        }
+    }
+
+    @Override protected void _pause(long timer) {
+        if (loop != null) {
+            paused = true;
+        }
     }
 
-    @Override protected void _pause(long timer) {}
-    @Override protected void _resume(long timer) {}
+    @Override protected void _resume(long timer) {
+        if (paused) {
+            paused = false;
+            notifyAll();
+        }
+    }
 }
 
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import javafx.css.CompoundSelector;
+import javafx.css.Selector;
+import javafx.css.SimpleSelector;
+import javafx.css.StyleClass;
+import javafx.css.Styleable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A bloom filter over the ids, type selectors and style classes of the
+ * ancestors of a Styleable. A CompoundSelector can only apply if each of the
+ * ids, types and style classes required by its ancestor selectors is found
+ * on some ancestor, so a selector whose requirements are not all in the
+ * filter can be rejected without walking up the parent chain. A positive
+ * answer from the filter may be wrong and must be confirmed by
+ * {@link Selector#applies}.
+ */
+public final class AncestorFilter {
+
+    // The number of bits in the filter must be a power of two
+    private static final int BITS = 256;
+    private static final int MASK = BITS - 1;
+
+    private static final int TYPE = 1;
+    private static final int ID = 2;
+    private static final int STYLE_CLASS = 3;
+
+    private final long[] bits = new long[BITS / Long.SIZE];
+
+    /**
+     * Create a filter for the ancestors of the given Styleable, which are
+     * the Styleables returned by successive calls to getStyleableParent().
+     */
+    public AncestorFilter(Styleable styleable) {
+        Styleable parent = styleable.getStyleableParent();
+        while (parent != null) {
+            add(TYPE, parent.getTypeSelector());
+            add(ID, parent.getId());
+            final List<String> styleClasses = parent.getStyleClass();
+            for (int n=0, nMax=styleClasses.size(); n<nMax; n++) {
+                add(STYLE_CLASS, styleClasses.get(n));
+            }
+            parent = parent.getStyleableParent();
+        }
+    }
+
+    private void add(int kind, String name) {
+        if (name == null || name.isEmpty()) return;
+        final int hash = hash(kind, name);
+        set(hash);
+        set(hash >>> 16);
+    }
+
+    private void set(int bit) {
+        bit &= MASK;
+        bits[bit / Long.SIZE] |= 1L << bit;
+    }
+
+    private boolean isSet(int bit) {
+        bit &= MASK;
+        return (bits[bit / Long.SIZE] & (1L << bit)) != 0;
+    }
+
+    /**
+     * @param ancestorHashes hashes returned by {@link #getAncestorHashes}
+     * @return false if some ancestor requirement is certainly not met, true
+     * if all of them might be met.
+     */
+    public boolean mightMatch(int[] ancestorHashes) {
+        if (ancestorHashes == null) return true;
+        for (int n=0; n<ancestorHashes.length; n++) {
+            final int hash = ancestorHashes[n];
+            if (!isSet(hash) || !isSet(hash >>> 16)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the hashes of the ids, types and style classes the ancestors of
+     * a Styleable must have for the selector to apply to it.
+     *
+     * @return the hashes, or null if the selector places no such
+     * requirement on the ancestors
+     */
+    public static int[] getAncestorHashes(Selector selector) {
+        if (!(selector instanceof CompoundSelector)) return null;
+
+        final List<SimpleSelector> selectors = ((CompoundSelector)selector).getSelectors();
+        int[] hashes = new int[4];
+        int count = 0;
+        // the last selector is the one that applies to the Styleable itself
+        for (int n=0, nMax=selectors.size()-1; n<nMax; n++) {
+            final SimpleSelector sel = selectors.get(n);
+            final int nHashes = 2 + sel.getStyleClassSet().size();
+            if (count + nHashes > hashes.length) {
+                hashes = Arrays.copyOf(hashes, Math.max(2 * hashes.length, count + nHashes));
+            }
+            final String name = sel.getName();
+            if (!name.isEmpty() && !"*".equals(name)) {
+                hashes[count++] = hash(TYPE, name);
+            }
+            final String id = sel.getId();
+            if (!id.isEmpty()) {
+                hashes[count++] = hash(ID, id);
+            }
+            for (StyleClass styleClass : sel.getStyleClassSet()) {
+                hashes[count++] = hash(STYLE_CLASS, styleClass.getStyleClassName());
+            }
+        }
+        return count > 0 ? Arrays.copyOf(hashes, count) : null;
+    }
+
+    private static int hash(int kind, String name) {
+        // spread the bits of the string hash so that both halves are usable
+        return (31 * kind + name.hashCode()) * 0x9E3779B9;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.logging.PulseLogger;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javafx.css.Rule;
+import javafx.css.Selector;
+import javafx.css.Stylesheet;
+
+/**
+ * An opt-in profiler for the CSS pass. When the javafx.css.profile property is
+ * true, StyleManager records, per selector, how often the selector is matched
+ * against a node, how often it matches and how long that takes; and the
+ * StyleHelper records, per node class, how long it takes to apply styles to a
+ * node. The time spent styling each node is also recorded as a javafx.CssStyle
+ * event when a flight recording is running, which is the way to read these
+ * timings from an application.
+ * <p>
+ * The statistics themselves are an internal diagnostic. The bean is not
+ * registered with any MBeanServer, and com.sun.javafx.css is not exported to
+ * applications, so code outside of JavaFX can only reach {@link #getDefaultBean}
+ * with {@code --add-exports javafx.graphics/com.sun.javafx.css=ALL-UNNAMED}.
+ */
+public class CssProfiler implements CssProfilerMBean {
+
+    @SuppressWarnings("removal")
+    public static final boolean ENABLED = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.css.profile"));
+
+    public static CssProfiler getDefaultBean() {
+        return CssProfilerHolder.holder;
+    }
+
+    private static class CssProfilerHolder {
+        private static final CssProfiler holder = new CssProfiler();
+    }
+
+    private static final class Counts {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    /*
+     * A selector and the URL of the stylesheet it came from. Selectors are
+     * compared by value, so the URL keeps equal selectors from different
+     * stylesheets apart, while the selectors of a stylesheet that is loaded
+     * again are still counted together.
+     */
+    private static final class SelectorKey {
+
+        private final Selector selector;
+        private final String url;
+
+        private SelectorKey(Selector selector) {
+            this.selector = selector;
+            final Rule rule = selector.getRule();
+            final Stylesheet stylesheet = rule != null ? rule.getStylesheet() : null;
+            this.url = stylesheet != null ? stylesheet.getUrl() : null;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * selector.hashCode() + Objects.hashCode(url);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof SelectorKey)) return false;
+            final SelectorKey other = (SelectorKey) obj;
+            return selector.equals(other.selector) && Objects.equals(url, other.url);
+        }
+
+        @Override
+        public String toString() {
+            return url != null ? selector + " (" + url + ")" : selector.toString();
+        }
+    }
+
+    private final Map<SelectorKey, Counts> selectorCounts = new ConcurrentHashMap<>();
+    private final Map<String, Counts> nodeCounts = new ConcurrentHashMap<>();
+
+    CssProfiler() {
+    }
+
+    /**
+     * Called by StyleManager after matching a selector against a node.
+     * @param selector the selector
+     * @param matched whether the selector applies to the node
+     * @param nanos the time it took to find out
+     */
+    public void selectorMatched(Selector selector, boolean matched, long nanos) {
+        final Counts counts = selectorCounts.computeIfAbsent(new SelectorKey(selector), k -> new Counts());
+        counts.count.increment();
+        if (matched) {
+            counts.hits.increment();
+        }
+        counts.nanos.add(nanos);
+    }
+
+    /**
+     * Called by the StyleHelper after applying styles to a node.
+     * @param nodeClass the class of the node
+     * @param nanos the time it took
+     */
+    public void nodeStyled(Class<?> nodeClass, long nanos) {
+        final String name = nodeClass.getName();
+        final Counts counts = nodeCounts.computeIfAbsent(name, k -> new Counts());
+        counts.count.increment();
+        counts.nanos.add(nanos);
+        if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            PulseLogger.cssStyle(name, nanos);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public String[] getSelectorStatistics() {
+        final List<Map.Entry<SelectorKey, Counts>> entries = new ArrayList<>(selectorCounts.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<SelectorKey, Counts> e) -> e.getValue().nanos.sum()).reversed());
+
+        final String[] lines = new String[entries.size()];
+        for (int n = 0; n < lines.length; n++) {
+            final Counts counts = entries.get(n).getValue();
+            lines[n] = entries.get(n).getKey()
+                    + ": attempts=" + counts.count.sum()
+                    + ", matches=" + counts.hits.sum()
+                    + ", nanos=" + counts.nanos.sum();
+        }
+        return lines;
+    }
+
+    @Override
+    public String[] getNodeStatistics() {
+        final List<Map.Entry<String, Counts>> entries = new ArrayList<>(nodeCounts.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Counts> e) -> e.getValue().nanos.sum()).reversed());
+
+        final String[] lines = new String[entries.size()];
+        for (int n = 0; n < lines.length; n++) {
+            final Counts counts = entries.get(n).getValue();
+            lines[n] = entries.get(n).getKey()
+                    + ": styled=" + counts.count.sum()
+                    + ", nanos=" + counts.nanos.sum();
+        }
+        return lines;
+    }
+
+    @Override
+    public void reset() {
+        selectorCounts.clear();
+        nodeCounts.clear();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+/**
+ * Statistics on the images that StyleManager caches for CSS. See
+ * {@link ImageCacheStats}.
+ */
+public interface ImageCacheStatsMBean {
+
+    /** The number of image requests satisfied from the cache */
+    public long getHits();
+
+    /** The number of image requests that had to load the image */
+    public long getMisses();
+
+    /** The number of images dropped to stay within the maximum size */
+    public long getEvictions();
+
+    /** The number of bytes of decoded pixels currently held */
+    public long getByteCount();
+
+    /** The maximum number of bytes of decoded pixels held, or 0 if there is no maximum */
+    public long getMaxByteCount();
+
+    /** Sets the hit, miss and eviction counts back to zero */
+    public void reset();
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+/**
+ * Counts hits, misses and evictions of the StyleCaches that StyleManager
+ * keeps for calculated values. The counts are always kept.
+ * <p>
+ * This is an internal diagnostic. The bean is not registered with any
+ * MBeanServer, and com.sun.javafx.css is not exported to applications, so
+ * code outside of JavaFX can only reach {@link #getDefaultBean} with
+ * {@code --add-exports javafx.graphics/com.sun.javafx.css=ALL-UNNAMED}.
+ */
+public class StyleCacheStats extends CacheStats implements StyleCacheStatsMBean {
+
+    private static final StyleCacheStats DEFAULT_BEAN = new StyleCacheStats();
+
+    public static StyleCacheStats getDefaultBean() {
+        return DEFAULT_BEAN;
+    }
+
+    StyleCacheStats() {
+    }
+
+    @Override
+    public int getSize() {
+        return StyleManager.getInstance().getSharedCacheCount();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return StyleManager.getInstance().getMaxSharedCacheCount();
+    }
+}
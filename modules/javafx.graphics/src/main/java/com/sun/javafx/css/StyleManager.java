@@ -32,15 +32,18 @@ import javafx.application.Application;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
+import javafx.css.CompoundSelector;
 import javafx.css.CssParser;
 import javafx.css.FontFace;
 import javafx.css.PseudoClass;
 import javafx.css.Rule;
 import javafx.css.Selector;
+import javafx.css.SimpleSelector;
 import javafx.css.StyleOrigin;
 import javafx.css.Styleable;
 import javafx.css.StyleConverter;
 import javafx.css.Stylesheet;
+import javafx.geometry.NodeOrientation;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -58,6 +61,7 @@ import java.io.FilePermission;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
@@ -83,10 +87,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.jar.JarEntry;
@@ -210,6 +218,93 @@ final public class StyleManager {
         }
     }
 
+    /*
+     * The StyleCaches are kept per CacheContainer. If maxSharedCaches is
+     * greater than 0, the StyleCaches of every CacheContainer are also linked
+     * into one list, least recently used first, and the least recently used
+     * StyleCache is dropped when there are more than maxSharedCaches. The
+     * values it held are calculated again when next needed. A maxSharedCaches
+     * of 0 means there is no limit, which is the default, and the list is not
+     * used. The list is guarded by styleLock.
+     *
+     * The list holds on to the CacheContainers of its entries. If a container
+     * goes away without clearCache() being called, its entries are no longer
+     * used and so are the first to be dropped.
+     */
+    @SuppressWarnings("removal")
+    private static volatile int maxSharedCaches = AccessController.doPrivileged(
+            (PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.css.styleCache.maxSize", 0));
+
+    private static SharedCacheEntry eldestSharedCache;
+    private static SharedCacheEntry youngestSharedCache;
+    private static int linkedSharedCacheCount;
+
+    /*
+     * A StyleCache in the StyleCache map of a CacheContainer, and its place
+     * in the least recently used list.
+     */
+    private static final class SharedCacheEntry {
+
+        private final CacheContainer container;
+        private final StyleCache.Key key;
+        private final StyleCache styleCache = new StyleCache();
+
+        private SharedCacheEntry previous;
+        private SharedCacheEntry next;
+        private boolean linked;
+
+        private SharedCacheEntry(CacheContainer container, StyleCache.Key key) {
+            this.container = container;
+            this.key = key;
+        }
+    }
+
+    // must be called with styleLock held
+    private static void linkSharedCache(SharedCacheEntry entry) {
+        if (entry.linked) {
+            if (entry == youngestSharedCache) return;
+            unlinkSharedCache(entry);
+        }
+        entry.previous = youngestSharedCache;
+        entry.next = null;
+        if (youngestSharedCache != null) {
+            youngestSharedCache.next = entry;
+        } else {
+            eldestSharedCache = entry;
+        }
+        youngestSharedCache = entry;
+        entry.linked = true;
+        linkedSharedCacheCount += 1;
+    }
+
+    // must be called with styleLock held
+    private static void unlinkSharedCache(SharedCacheEntry entry) {
+        if (!entry.linked) return;
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            eldestSharedCache = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        } else {
+            youngestSharedCache = entry.previous;
+        }
+        entry.previous = entry.next = null;
+        entry.linked = false;
+        linkedSharedCacheCount -= 1;
+    }
+
+    // must be called with styleLock held
+    private static void trimSharedCaches(int max) {
+        while (linkedSharedCacheCount > max) {
+            final SharedCacheEntry eldest = eldestSharedCache;
+            unlinkSharedCache(eldest);
+            eldest.container.styleCache.remove(eldest.key);
+            StyleCacheStats.getDefaultBean().recordEviction();
+        }
+    }
+
     /**
      * StyleHelper uses this cache but it lives here so it can be cleared
      * when style-sheets change.
@@ -219,16 +314,93 @@ final public class StyleManager {
         CacheContainer container = getCacheContainer(styleable, subScene);
         if (container == null) return null;
 
-        Map<StyleCache.Key,StyleCache> styleCache = container.getStyleCache();
-        if (styleCache == null) return null;
+        Map<StyleCache.Key,SharedCacheEntry> styleCache = container.getStyleCache();
 
-        StyleCache sharedCache = styleCache.get(key);
+        SharedCacheEntry sharedCache = styleCache.get(key);
         if (sharedCache == null) {
-            sharedCache = new StyleCache();
-            styleCache.put(new StyleCache.Key(key), sharedCache);
+            StyleCacheStats.getDefaultBean().recordMiss();
+            sharedCache = new SharedCacheEntry(container, new StyleCache.Key(key));
+            styleCache.put(sharedCache.key, sharedCache);
+        } else {
+            StyleCacheStats.getDefaultBean().recordHit();
+        }
+
+        final int max = maxSharedCaches;
+        if (max > 0) {
+            synchronized (styleLock) {
+                linkSharedCache(sharedCache);
+                trimSharedCaches(max);
+            }
         }
 
-        return sharedCache;
+        return sharedCache.styleCache;
+    }
+
+    int getSharedCacheCount() {
+        synchronized (styleLock) {
+            int count = 0;
+            for (CacheContainer container : cacheContainerMap.values()) {
+                if (container.styleCache != null) {
+                    count += container.styleCache.size();
+                }
+            }
+            return count;
+        }
+    }
+
+    int getMaxSharedCacheCount() {
+        return maxSharedCaches;
+    }
+
+    // package for testing
+    void setMaxSharedCacheCount(int max) {
+        synchronized (styleLock) {
+            maxSharedCaches = Math.max(0, max);
+            if (maxSharedCaches > 0) {
+                for (CacheContainer container : cacheContainerMap.values()) {
+                    if (container.styleCache == null) continue;
+                    for (SharedCacheEntry entry : container.styleCache.values()) {
+                        if (!entry.linked) linkSharedCache(entry);
+                    }
+                }
+                trimSharedCaches(maxSharedCaches);
+            } else {
+                while (eldestSharedCache != null) {
+                    unlinkSharedCache(eldestSharedCache);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records that a node in the scene of the styleable has looked up, or
+     * inherited, the value of the property from the styles of an ancestor.
+     * The record is kept until the styles of the scene are cleared.
+     */
+    public void addAncestorDependent(Styleable styleable, SubScene subScene, String property) {
+
+        CacheContainer container = getCacheContainer(styleable, subScene);
+        if (container == null) return;
+
+        container.getAncestorDependents().add(property);
+    }
+
+    /**
+     * Whether any of the properties has been looked up, or inherited, from
+     * the styles of an ancestor by a node in the scene of the styleable.
+     */
+    public boolean isAnyAncestorDependent(Styleable styleable, SubScene subScene, Set<String> properties) {
+
+        CacheContainer container = getCacheContainer(styleable, subScene);
+        if (container == null) return true;
+        if (container.ancestorDependents == null) return false;
+
+        for (String property : properties) {
+            if (container.ancestorDependents.contains(property)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public StyleMap getStyleMap(Styleable styleable, SubScene subScene, int smapId) {
@@ -755,36 +927,89 @@ final public class StyleManager {
     //
     ////////////////////////////////////////////////////////////////////////////
 
+    /*
+     * Images loaded for CSS, least recently used first. The images are softly
+     * referenced so the garbage collector can still reclaim them. In addition,
+     * if the decoded pixels of the images add up to more than maxImageBytes,
+     * the least recently used images are dropped. A maxImageBytes of 0 means
+     * there is no limit, which is the default.
+     *
+     * If backgroundLoading is true, images are decoded on a background thread
+     * rather than on the thread applying CSS. Until an image is loaded, it has
+     * no size and paints nothing; ImageView, Region and ImagePattern already
+     * repaint when the image finishes loading.
+     */
     private final static class ImageCache {
-        private Map<String, SoftReference<Image>> imageCache = new HashMap<>();
+        private final Map<String, CachedImage> imageCache = new LinkedHashMap<>(16, 0.75f, true);
+
+        // CachedImages whose Image has been collected
+        private final ReferenceQueue<Image> staleImages = new ReferenceQueue<>();
+
+        // The sum of the bytes of the CachedImages in imageCache
+        private long byteCount;
+
+        @SuppressWarnings("removal")
+        private long maxImageBytes = AccessController.doPrivileged(
+                (PrivilegedAction<Long>) () -> Long.getLong("javafx.css.imageCache.maxSize", 0L));
+
+        @SuppressWarnings("removal")
+        private boolean backgroundLoading = AccessController.doPrivileged(
+                (PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.css.imageCache.backgroundLoading"));
+
+        /*
+         * An Image in the cache and the size of its decoded pixels. An image
+         * that is loading in the background counts as 0 bytes until it has
+         * loaded.
+         */
+        private static final class CachedImage extends SoftReference<Image> {
+
+            private final String url;
+            private long bytes;
+
+            private CachedImage(String url, Image image, ReferenceQueue<Image> queue) {
+                super(image, queue);
+                this.url = url;
+                this.bytes = getImageBytes(image);
+            }
+        }
+
+        private static long getImageBytes(Image image) {
+            return 4L * (long) image.getWidth() * (long) image.getHeight();
+        }
 
         Image getCachedImage(String url) {
 
             synchronized (styleLock) {
+                expungeStaleImages();
+
                 Image image = null;
-                if (imageCache.containsKey(url)) {
-                    image = imageCache.get(url).get();
+                final CachedImage cachedImage = imageCache.get(url);
+                if (cachedImage != null) {
+                    image = cachedImage.get();
+                    if (image == null) {
+                        remove(cachedImage);
+                    }
                 }
                 if (image == null) {
+                    ImageCacheStats.getDefaultBean().recordMiss();
                     try {
-                        image = new Image(url);
+                        image = new Image(url, backgroundLoading);
                         // RT-31865
                         if (image.isError()) {
-                            final PlatformLogger logger = getLogger();
-                            if (logger != null && logger.isLoggable(Level.WARNING)) {
-                                // If we have a "data" URL, we should use DataURI.toString() instead
-                                // of just logging the entire URL. This truncates the data contained
-                                // in the URL and prevents cluttering the log.
-                                DataURI dataUri = DataURI.tryParse(url);
-                                if (dataUri != null) {
-                                    logger.warning("Error loading image: " + dataUri);
-                                } else {
-                                    logger.warning("Error loading image: " + url);
-                                }
-                            }
+                            logImageError(url);
                             image = null;
+                        } else {
+                            final CachedImage newCachedImage = new CachedImage(url, image, staleImages);
+                            if (backgroundLoading && image.getProgress() < 1) {
+                                image.progressProperty().addListener((ov, oldProgress, newProgress) -> {
+                                    if (newProgress.doubleValue() >= 1) {
+                                        backgroundLoadFinished(newCachedImage);
+                                    }
+                                });
+                            }
+                            put(newCachedImage);
+                            trim();
                         }
-                        imageCache.put(url, new SoftReference<>(image));
                     } catch (IllegalArgumentException | NullPointerException ex) {
                         // url was empty!
                         final PlatformLogger logger = getLogger();
@@ -793,11 +1018,115 @@ final public class StyleManager {
                         }
                     } // url was null!
 
+                } else {
+                    ImageCacheStats.getDefaultBean().recordHit();
                 }
                 return image;
             }
         }
 
+        /*
+         * Called when an image that was loading in the background has loaded
+         * or failed to load. A loaded image now counts its bytes, which may
+         * push the cache over its limit. A failed image is dropped from the
+         * cache so that it is tried again the next time it is asked for, as
+         * it would be without background loading.
+         */
+        private void backgroundLoadFinished(CachedImage cachedImage) {
+            synchronized (styleLock) {
+                final Image image = cachedImage.get();
+                if (image == null || imageCache.get(cachedImage.url) != cachedImage) return;
+
+                if (image.isError()) {
+                    logImageError(cachedImage.url);
+                    remove(cachedImage);
+                } else {
+                    final long bytes = getImageBytes(image);
+                    byteCount += bytes - cachedImage.bytes;
+                    cachedImage.bytes = bytes;
+                    trim();
+                }
+            }
+        }
+
+        private void put(CachedImage cachedImage) {
+            final CachedImage oldCachedImage = imageCache.put(cachedImage.url, cachedImage);
+            if (oldCachedImage != null) {
+                byteCount -= oldCachedImage.bytes;
+            }
+            byteCount += cachedImage.bytes;
+        }
+
+        private void remove(CachedImage cachedImage) {
+            if (imageCache.remove(cachedImage.url, cachedImage)) {
+                byteCount -= cachedImage.bytes;
+            }
+        }
+
+        private void expungeStaleImages() {
+            Reference<? extends Image> stale;
+            while ((stale = staleImages.poll()) != null) {
+                remove((CachedImage) stale);
+            }
+        }
+
+        private void logImageError(String url) {
+            final PlatformLogger logger = getLogger();
+            if (logger != null && logger.isLoggable(Level.WARNING)) {
+                // If we have a "data" URL, we should use DataURI.toString() instead
+                // of just logging the entire URL. This truncates the data contained
+                // in the URL and prevents cluttering the log.
+                DataURI dataUri = DataURI.tryParse(url);
+                if (dataUri != null) {
+                    logger.warning("Error loading image: " + dataUri);
+                } else {
+                    logger.warning("Error loading image: " + url);
+                }
+            }
+        }
+
+        long getByteCount() {
+            synchronized (styleLock) {
+                expungeStaleImages();
+                return byteCount;
+            }
+        }
+
+        long getMaxByteCount() {
+            synchronized (styleLock) {
+                return maxImageBytes;
+            }
+        }
+
+        void setMaxByteCount(long max) {
+            synchronized (styleLock) {
+                maxImageBytes = Math.max(0, max);
+                trim();
+            }
+        }
+
+        void setBackgroundLoading(boolean value) {
+            synchronized (styleLock) {
+                backgroundLoading = value;
+            }
+        }
+
+        // Drop the least recently used images until the cache fits, but
+        // always keep the most recently used one.
+        private void trim() {
+            if (maxImageBytes <= 0) return;
+
+            final Iterator<CachedImage> iterator = imageCache.values().iterator();
+            while (byteCount > maxImageBytes && imageCache.size() > 1 && iterator.hasNext()) {
+                final CachedImage cachedImage = iterator.next();
+                byteCount -= cachedImage.bytes;
+                iterator.remove();
+                if (cachedImage.get() != null) {
+                    ImageCacheStats.getDefaultBean().recordEviction();
+                }
+            }
+        }
+
         void cleanUpImageCache(String imgFname) {
 
             synchronized (styleLock) {
@@ -810,32 +1139,26 @@ final public class StyleManager {
                 final String path = (len > 0) ? fname.substring(0,len) : fname;
                 final int plen = path.length();
 
-                final String[] entriesToRemove = new String[imageCache.size()];
-                int count = 0;
+                final Iterator<CachedImage> iterator = imageCache.values().iterator();
+                while (iterator.hasNext()) {
 
-                final Set<Entry<String, SoftReference<Image>>> entrySet = imageCache.entrySet();
-                for (Entry<String, SoftReference<Image>> entry : entrySet) {
+                    final CachedImage cachedImage = iterator.next();
+                    boolean match = cachedImage.get() == null;
+                    if (!match) {
+                        final String key = cachedImage.url;
+                        len = key.lastIndexOf('/');
+                        final String kpath = (len > 0) ? key.substring(0, len) : key;
+                        final int klen = kpath.length();
 
-                    final String key = entry.getKey();
-                    if (entry.getValue().get() == null) {
-                        entriesToRemove[count++] = key;
-                        continue;
+                        // If the longer path begins with the shorter path,
+                        // then assume the image came from this path.
+                        match = (klen > plen) ? kpath.startsWith(path) : path.startsWith(kpath);
                     }
-                    len = key.lastIndexOf('/');
-                    final String kpath = (len > 0) ? key.substring(0, len) : key;
-                    final int klen = kpath.length();
-
-                    // If the longer path begins with the shorter path,
-                    // then assume the image came from this path.
-                    boolean match = (klen > plen) ? kpath.startsWith(path) : path.startsWith(kpath);
                     if (match) {
-                        entriesToRemove[count++] = key;
+                        byteCount -= cachedImage.bytes;
+                        iterator.remove();
                     }
                 }
-
-                for (int n = 0; n < count; n++) {
-                    imageCache.remove(entriesToRemove[n]);
-                }
             }
         }
     }
@@ -846,6 +1169,24 @@ final public class StyleManager {
         return imageCache.getCachedImage(url);
     }
 
+    long getImageCacheByteCount() {
+        return imageCache.getByteCount();
+    }
+
+    long getMaxImageCacheByteCount() {
+        return imageCache.getMaxByteCount();
+    }
+
+    // package for testing
+    void setMaxImageCacheByteCount(long max) {
+        imageCache.setMaxByteCount(max);
+    }
+
+    // package for testing
+    void setImageBackgroundLoading(boolean value) {
+        imageCache.setBackgroundLoading(value);
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     //
     // Stylesheet loading
@@ -1121,7 +1462,7 @@ final public class StyleManager {
                     DataURI dataUri = null;
 
                     if (url != null) {
-                        stylesheet = new CssParser().parse(url);
+                        stylesheet = StylesheetCache.parseStylesheet(url);
                     } else {
                         dataUri = DataURI.tryParse(fname);
                     }
@@ -1677,9 +2018,169 @@ final public class StyleManager {
     // reuse key to avoid creation of numerous small objects
     private Key key = null;
 
+    // Selector matches computed by matchStylesInParallel, waiting to be
+    // picked up by findMatchingStyles. Guarded by styleLock.
+    private final Map<Node, Prematch> prematches = new IdentityHashMap<>();
+
+    // The number of precomputed matches used by findMatchingStyles, for
+    // testing. Guarded by styleLock.
+    private int prematchesUsed;
+
     // Stores weak references to regions which return non-null user agent stylesheets
     private final WeakHashMap<Region, String> weakRegionUserAgentStylesheetMap = new WeakHashMap<>();
 
+    /**
+     * Matches selectors for the given nodes on the common ForkJoinPool, ahead
+     * of the calls to {@link #findMatchingStyles} that will style them. Only
+     * the selector matching runs in parallel; the StyleMap lookup and the
+     * calculation of values stay on the calling thread. A precomputed match
+     * is used only if the node and its ancestors still have the same parents,
+     * ids and style-classes when the node is styled; otherwise the node is
+     * matched again. The caller must not modify the scene graph while this
+     * method runs, and must call {@link #clearPrematches} when done styling.
+     *
+     * @param nodes the nodes about to have CSS reapplied
+     */
+    public void matchStylesInParallel(List<Node> nodes) {
+
+        final List<Prematch> work = new ArrayList<>(nodes.size());
+
+        synchronized (styleLock) {
+            for (int n=0, nMax=nodes.size(); n<nMax; n++) {
+                final Node node = nodes.get(n);
+                final Scene scene = node.getScene();
+                if (scene == null) continue;
+
+                final SubScene subScene = NodeHelper.getSubScene(node);
+                final CacheContainer cacheContainer = getCacheContainer(node, subScene);
+                if (cacheContainer == null) continue;
+
+                final Cache cache = getCache(cacheContainer, node, subScene, scene);
+                if (cache == null || cache.selectors.isEmpty() || cache.hasDirSelector) continue;
+
+                final Prematch prematch = Prematch.of(node, cache);
+                if (prematch != null) work.add(prematch);
+            }
+        }
+
+        work.parallelStream().forEach(Prematch::match);
+
+        synchronized (styleLock) {
+            for (int n=0, nMax=work.size(); n<nMax; n++) {
+                final Prematch prematch = work.get(n);
+                if (prematch.matched) {
+                    prematches.put(prematch.node, prematch);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards any matches from {@link #matchStylesInParallel} that have not
+     * been used.
+     */
+    public void clearPrematches() {
+        synchronized (styleLock) {
+            prematches.clear();
+        }
+    }
+
+    int getPrematchesUsed() {
+        synchronized (styleLock) {
+            return prematchesUsed;
+        }
+    }
+
+    /*
+     * The selectors of a Cache that apply to a node, matched ahead of time,
+     * along with what the match depends on: the styleable parents of the node
+     * and their ids and style-classes.
+     */
+    private static final class Prematch {
+
+        final Node node;
+        final Cache cache;
+        final Node[] chain;
+        final String[] ids;
+        final String[][] styleClasses;
+
+        long[] key;
+        PseudoClassState[] triggerStates;
+        boolean matched;
+
+        private Prematch(Node node, Cache cache, Node[] chain) {
+            this.node = node;
+            this.cache = cache;
+            this.chain = chain;
+            this.ids = new String[chain.length];
+            this.styleClasses = new String[chain.length][];
+            for (int n=0; n<chain.length; n++) {
+                ids[n] = chain[n].getId();
+                styleClasses[n] = chain[n].getStyleClass().toArray(new String[0]);
+            }
+        }
+
+        // Returns null if an ancestor is a Styleable other than a Node,
+        // since its state is not known to be safe to read off the FX thread.
+        static Prematch of(Node node, Cache cache) {
+            int depth = 0;
+            for (Styleable s = node; s != null; s = s.getStyleableParent()) {
+                if (!(s instanceof Node)) return null;
+                depth++;
+            }
+            final Node[] chain = new Node[depth];
+            Styleable s = node;
+            for (int n=0; n<depth; n++) {
+                chain[n] = (Node) s;
+                s = s.getStyleableParent();
+            }
+            return new Prematch(node, cache, chain);
+        }
+
+        void match() {
+            try {
+                triggerStates = new PseudoClassState[chain.length];
+                key = cache.match(node, triggerStates);
+                matched = true;
+            } catch (RuntimeException e) {
+                // leave it to findMatchingStyles to match, and fail, on the FX thread
+            }
+        }
+
+        boolean isValid(Cache current) {
+            if (current != cache) return false;
+            Styleable s = node;
+            for (int n=0; n<chain.length; n++) {
+                if (s != chain[n]) return false;
+                if (!Objects.equals(ids[n], chain[n].getId())) return false;
+                final List<String> nodeClasses = chain[n].getStyleClass();
+                final String[] classes = styleClasses[n];
+                if (nodeClasses.size() != classes.length) return false;
+                for (int c=0; c<classes.length; c++) {
+                    if (!Objects.equals(classes[c], nodeClasses.get(c))) return false;
+                }
+                s = s.getStyleableParent();
+            }
+            return s == null;
+        }
+
+        // Adds the pseudo-class states found by the match to triggerStates
+        long[] merge(Set<PseudoClass>[] triggerStates) {
+            if (triggerStates == null) return key;
+            final int nMax = Math.min(triggerStates.length, this.triggerStates.length);
+            for (int n=0; n<nMax; n++) {
+                final PseudoClassState states = this.triggerStates[n];
+                if (states == null) continue;
+                if (triggerStates[n] == null) {
+                    triggerStates[n] = states;
+                } else {
+                    triggerStates[n].addAll(states);
+                }
+            }
+            return key;
+        }
+    }
+
     /**
      * Finds matching styles for this Node.
      */
@@ -1697,221 +2198,246 @@ final public class StyleManager {
         }
 
         synchronized (styleLock) {
-            final Parent parent =
-                (node instanceof Parent)
-                    ? (Parent) node : node.getParent();
+            final Cache cache = getCache(cacheContainer, node, subScene, scene);
+            if (cache == null) {
+                return StyleMap.EMPTY_MAP;
+            }
+
+            final String inlineStyle = node.getStyle();
+            final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
+
+            //
+            // Use the selectors matched by matchStylesInParallel, provided
+            // nothing the match depends on has changed since.
+            //
+            final Prematch prematch = prematches.isEmpty() ? null : prematches.remove(node);
+            if (prematch != null && prematch.isValid(cache)) {
+                prematchesUsed++;
+                return cache.getStyleMap(cacheContainer, node, prematch.merge(triggerStates), hasInlineStyles);
+            }
+
+            //
+            // Create a style helper for this node from the styles that match.
+            //
+            final long[] matched = cache.match(node, triggerStates);
+            return cache.getStyleMap(cacheContainer, node, matched, hasInlineStyles);
+        }
+    }
 
-            final List<StylesheetContainer> parentStylesheets =
-                        gatherParentStylesheets(parent);
+    /*
+     * Find the Cache of selectors that might apply to this node, or null if
+     * there are no styles at all. Must be called while holding styleLock.
+     */
+    private Cache getCache(CacheContainer cacheContainer, Node node, SubScene subScene, Scene scene) {
+        final Parent parent =
+            (node instanceof Parent)
+                ? (Parent) node : node.getParent();
 
-            final boolean hasParentStylesheets = parentStylesheets.isEmpty() == false;
+        final List<StylesheetContainer> parentStylesheets =
+                    gatherParentStylesheets(parent);
 
-            final List<StylesheetContainer> sceneStylesheets = gatherSceneStylesheets(scene);
+        final boolean hasParentStylesheets = parentStylesheets.isEmpty() == false;
 
-            final boolean hasSceneStylesheets = sceneStylesheets.isEmpty() == false;
+        final List<StylesheetContainer> sceneStylesheets = gatherSceneStylesheets(scene);
 
-            final String inlineStyle = node.getStyle();
-            final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
+        final boolean hasSceneStylesheets = sceneStylesheets.isEmpty() == false;
 
-            final String sceneUserAgentStylesheet = scene.getUserAgentStylesheet();
-            final boolean hasSceneUserAgentStylesheet =
-                    sceneUserAgentStylesheet != null && sceneUserAgentStylesheet.trim().isEmpty() == false;
+        final String inlineStyle = node.getStyle();
+        final boolean hasInlineStyles = inlineStyle != null && inlineStyle.trim().isEmpty() == false;
 
-            final String subSceneUserAgentStylesheet =
-                    (subScene != null) ? subScene.getUserAgentStylesheet() : null;
-            final boolean hasSubSceneUserAgentStylesheet =
-                    subSceneUserAgentStylesheet != null && subSceneUserAgentStylesheet.trim().isEmpty() == false;
+        final String sceneUserAgentStylesheet = scene.getUserAgentStylesheet();
+        final boolean hasSceneUserAgentStylesheet =
+                sceneUserAgentStylesheet != null && sceneUserAgentStylesheet.trim().isEmpty() == false;
 
-            String regionUserAgentStylesheet = null;
-            // is this node in a region that has its own stylesheet?
-            Node region = node;
-            while (region != null) {
-                if (region instanceof Region) {
-                    regionUserAgentStylesheet = weakRegionUserAgentStylesheetMap.computeIfAbsent(
-                            (Region)region, Region::getUserAgentStylesheet);
+        final String subSceneUserAgentStylesheet =
+                (subScene != null) ? subScene.getUserAgentStylesheet() : null;
+        final boolean hasSubSceneUserAgentStylesheet =
+                subSceneUserAgentStylesheet != null && subSceneUserAgentStylesheet.trim().isEmpty() == false;
 
-                    if (regionUserAgentStylesheet != null) {
-                        // We want 'region' to be the node that has the user agent stylesheet.
-                        // 'region' is used below - look for if (hasRegionUserAgentStylesheet) block
-                        break;
-                    }
+        String regionUserAgentStylesheet = null;
+        // is this node in a region that has its own stylesheet?
+        Node region = node;
+        while (region != null) {
+            if (region instanceof Region) {
+                regionUserAgentStylesheet = weakRegionUserAgentStylesheetMap.computeIfAbsent(
+                        (Region)region, Region::getUserAgentStylesheet);
+
+                if (regionUserAgentStylesheet != null) {
+                    // We want 'region' to be the node that has the user agent stylesheet.
+                    // 'region' is used below - look for if (hasRegionUserAgentStylesheet) block
+                    break;
                 }
-                region = region.getParent();
             }
+            region = region.getParent();
+        }
 
 
-            final boolean hasRegionUserAgentStylesheet =
-                    regionUserAgentStylesheet != null && regionUserAgentStylesheet.trim().isEmpty() == false;
+        final boolean hasRegionUserAgentStylesheet =
+                regionUserAgentStylesheet != null && regionUserAgentStylesheet.trim().isEmpty() == false;
 
-            //
-            // Are there any stylesheets at all?
-            // If not, then there is nothing to match and the
-            // resulting StyleMap is going to end up empty
-            //
-            if (hasInlineStyles == false
-                    && hasParentStylesheets == false
-                    && hasSceneStylesheets == false
-                    && hasSceneUserAgentStylesheet == false
-                    && hasSubSceneUserAgentStylesheet == false
-                    && hasRegionUserAgentStylesheet == false
-                    && platformUserAgentStylesheetContainers.isEmpty()) {
-                return StyleMap.EMPTY_MAP;
-            }
+        //
+        // Are there any stylesheets at all?
+        // If not, then there is nothing to match and the
+        // resulting StyleMap is going to end up empty
+        //
+        if (hasInlineStyles == false
+                && hasParentStylesheets == false
+                && hasSceneStylesheets == false
+                && hasSceneUserAgentStylesheet == false
+                && hasSubSceneUserAgentStylesheet == false
+                && hasRegionUserAgentStylesheet == false
+                && platformUserAgentStylesheetContainers.isEmpty()) {
+            return null;
+        }
 
-            final String cname = node.getTypeSelector();
-            final String id = node.getId();
-            final List<String> styleClasses = node.getStyleClass();
+        final String cname = node.getTypeSelector();
+        final String id = node.getId();
+        final List<String> styleClasses = node.getStyleClass();
 
-            if (key == null) {
-                key = new Key();
-            }
+        if (key == null) {
+            key = new Key();
+        }
 
-            key.className = cname;
-            key.id = id;
-            for(int n=0, nMax=styleClasses.size(); n<nMax; n++) {
+        key.className = cname;
+        key.id = id;
+        for(int n=0, nMax=styleClasses.size(); n<nMax; n++) {
 
-                final String styleClass = styleClasses.get(n);
-                if (styleClass == null || styleClass.isEmpty()) continue;
+            final String styleClass = styleClasses.get(n);
+            if (styleClass == null || styleClass.isEmpty()) continue;
 
-                key.styleClasses.add(StyleClassSet.getStyleClass(styleClass));
-            }
+            key.styleClasses.add(StyleClassSet.getStyleClass(styleClass));
+        }
 
-            Map<Key, Cache> cacheMap = cacheContainer.getCacheMap(parentStylesheets,regionUserAgentStylesheet);
-            Cache cache = cacheMap.get(key);
+        Map<Key, Cache> cacheMap = cacheContainer.getCacheMap(parentStylesheets,regionUserAgentStylesheet);
+        Cache cache = cacheMap.get(key);
 
-            if (cache != null) {
-                // key will be reused, so clear the styleClasses for next use
-                key.styleClasses.clear();
+        if (cache != null) {
+            // key will be reused, so clear the styleClasses for next use
+            key.styleClasses.clear();
 
-            } else {
+        } else {
 
-                // If the cache is null, then we need to create a new Cache and
-                // add it to the cache map
+            // If the cache is null, then we need to create a new Cache and
+            // add it to the cache map
 
-                // Construct the list of Selectors that could possibly apply
-                final List<Selector> selectorData = new ArrayList<>();
+            // Construct the list of Selectors that could possibly apply
+            final List<Selector> selectorData = new ArrayList<>();
 
-                // User agent stylesheets have lowest precedence and go first
-                if (hasSubSceneUserAgentStylesheet || hasSceneUserAgentStylesheet) {
+            // User agent stylesheets have lowest precedence and go first
+            if (hasSubSceneUserAgentStylesheet || hasSceneUserAgentStylesheet) {
 
-                    // if has both, use SubScene
-                    final String uaFileName = hasSubSceneUserAgentStylesheet ?
-                            subScene.getUserAgentStylesheet().trim() :
-                            scene.getUserAgentStylesheet().trim();
+                // if has both, use SubScene
+                final String uaFileName = hasSubSceneUserAgentStylesheet ?
+                        subScene.getUserAgentStylesheet().trim() :
+                        scene.getUserAgentStylesheet().trim();
 
 
-                    StylesheetContainer container = null;
-                    for (int n=0, nMax=userAgentStylesheetContainers.size(); n<nMax; n++) {
-                        container = userAgentStylesheetContainers.get(n);
-                        if (uaFileName.equals(container.fname)) {
-                            break;
-                        }
-                        container = null;
+                StylesheetContainer container = null;
+                for (int n=0, nMax=userAgentStylesheetContainers.size(); n<nMax; n++) {
+                    container = userAgentStylesheetContainers.get(n);
+                    if (uaFileName.equals(container.fname)) {
+                        break;
                     }
+                    container = null;
+                }
 
-                    if (container == null) {
-                        Stylesheet stylesheet = loadStylesheet(uaFileName);
-                        if (stylesheet != null) {
-                            stylesheet.setOrigin(StyleOrigin.USER_AGENT);
-                        }
-                        container = new StylesheetContainer(uaFileName, stylesheet);
-                        userAgentStylesheetContainers.add(container);
+                if (container == null) {
+                    Stylesheet stylesheet = loadStylesheet(uaFileName);
+                    if (stylesheet != null) {
+                        stylesheet.setOrigin(StyleOrigin.USER_AGENT);
                     }
+                    container = new StylesheetContainer(uaFileName, stylesheet);
+                    userAgentStylesheetContainers.add(container);
+                }
 
-                    if (container.selectorPartitioning != null) {
+                if (container.selectorPartitioning != null) {
 
-                        final Parent root = hasSubSceneUserAgentStylesheet ? subScene.getRoot() : scene.getRoot();
-                        container.parentUsers.add(root);
+                    final Parent root = hasSubSceneUserAgentStylesheet ? subScene.getRoot() : scene.getRoot();
+                    container.parentUsers.add(root);
 
+                    final List<Selector> matchingRules =
+                            container.selectorPartitioning.match(id, cname, key.styleClasses);
+                    selectorData.addAll(matchingRules);
+                }
+
+            } else if (platformUserAgentStylesheetContainers.isEmpty() == false) {
+                for(int n=0, nMax= platformUserAgentStylesheetContainers.size(); n<nMax; n++) {
+                    final StylesheetContainer container = platformUserAgentStylesheetContainers.get(n);
+                    if (container != null && container.selectorPartitioning != null) {
                         final List<Selector> matchingRules =
                                 container.selectorPartitioning.match(id, cname, key.styleClasses);
                         selectorData.addAll(matchingRules);
                     }
+                }
+            }
 
-                } else if (platformUserAgentStylesheetContainers.isEmpty() == false) {
-                    for(int n=0, nMax= platformUserAgentStylesheetContainers.size(); n<nMax; n++) {
-                        final StylesheetContainer container = platformUserAgentStylesheetContainers.get(n);
-                        if (container != null && container.selectorPartitioning != null) {
-                            final List<Selector> matchingRules =
-                                    container.selectorPartitioning.match(id, cname, key.styleClasses);
-                            selectorData.addAll(matchingRules);
-                        }
+            if (hasRegionUserAgentStylesheet) {
+                // Unfortunate duplication of code from previous block. No time to refactor.
+                StylesheetContainer container = null;
+                for (int n=0, nMax=userAgentStylesheetContainers.size(); n<nMax; n++) {
+                    container = userAgentStylesheetContainers.get(n);
+                    if (regionUserAgentStylesheet.equals(container.fname)) {
+                        break;
                     }
+                    container = null;
                 }
 
-                if (hasRegionUserAgentStylesheet) {
-                    // Unfortunate duplication of code from previous block. No time to refactor.
-                    StylesheetContainer container = null;
-                    for (int n=0, nMax=userAgentStylesheetContainers.size(); n<nMax; n++) {
-                        container = userAgentStylesheetContainers.get(n);
-                        if (regionUserAgentStylesheet.equals(container.fname)) {
-                            break;
-                        }
-                        container = null;
+                if (container == null) {
+                    Stylesheet stylesheet = loadStylesheet(regionUserAgentStylesheet);
+                    if (stylesheet != null) {
+                        stylesheet.setOrigin(StyleOrigin.USER_AGENT);
                     }
+                    container = new StylesheetContainer(regionUserAgentStylesheet, stylesheet);
+                    userAgentStylesheetContainers.add(container);
+                }
 
-                    if (container == null) {
-                        Stylesheet stylesheet = loadStylesheet(regionUserAgentStylesheet);
-                        if (stylesheet != null) {
-                            stylesheet.setOrigin(StyleOrigin.USER_AGENT);
-                        }
-                        container = new StylesheetContainer(regionUserAgentStylesheet, stylesheet);
-                        userAgentStylesheetContainers.add(container);
-                    }
+                if (container.selectorPartitioning != null) {
 
-                    if (container.selectorPartitioning != null) {
+                    // Depending on RefList add method not allowing duplicates.
+                    container.parentUsers.add((Parent)region);
 
-                        // Depending on RefList add method not allowing duplicates.
-                        container.parentUsers.add((Parent)region);
+                    final List<Selector> matchingRules =
+                            container.selectorPartitioning.match(id, cname, key.styleClasses);
+                    selectorData.addAll(matchingRules);
+                }
+
+            }
 
+            // Scene stylesheets come next since declarations from
+            // parent stylesheets should take precedence.
+            if (sceneStylesheets.isEmpty() == false) {
+                for(int n=0, nMax=sceneStylesheets.size(); n<nMax; n++) {
+                    final StylesheetContainer container = sceneStylesheets.get(n);
+                    if (container != null && container.selectorPartitioning != null) {
                         final List<Selector> matchingRules =
                                 container.selectorPartitioning.match(id, cname, key.styleClasses);
                         selectorData.addAll(matchingRules);
                     }
-
-                }
-
-                // Scene stylesheets come next since declarations from
-                // parent stylesheets should take precedence.
-                if (sceneStylesheets.isEmpty() == false) {
-                    for(int n=0, nMax=sceneStylesheets.size(); n<nMax; n++) {
-                        final StylesheetContainer container = sceneStylesheets.get(n);
-                        if (container != null && container.selectorPartitioning != null) {
-                            final List<Selector> matchingRules =
-                                    container.selectorPartitioning.match(id, cname, key.styleClasses);
-                            selectorData.addAll(matchingRules);
-                        }
-                    }
                 }
+            }
 
-                // lastly, parent stylesheets
-                if (hasParentStylesheets) {
-                    final int nMax = parentStylesheets == null ? 0 : parentStylesheets.size();
-                    for(int n=0; n<nMax; n++) {
-                        final StylesheetContainer container = parentStylesheets.get(n);
-                        if (container.selectorPartitioning != null) {
-                            final List<Selector> matchingRules =
-                                    container.selectorPartitioning.match(id, cname, key.styleClasses);
-                            selectorData.addAll(matchingRules);
-                        }
+            // lastly, parent stylesheets
+            if (hasParentStylesheets) {
+                final int nMax = parentStylesheets == null ? 0 : parentStylesheets.size();
+                for(int n=0; n<nMax; n++) {
+                    final StylesheetContainer container = parentStylesheets.get(n);
+                    if (container.selectorPartitioning != null) {
+                        final List<Selector> matchingRules =
+                                container.selectorPartitioning.match(id, cname, key.styleClasses);
+                        selectorData.addAll(matchingRules);
                     }
                 }
-
-                // create a new Cache from these selectors.
-                cache = new Cache(selectorData);
-                cacheMap.put(key, cache);
-
-                // cause a new Key to be created the next time this method is called
-                key = null;
             }
 
-            //
-            // Create a style helper for this node from the styles that match.
-            //
-            StyleMap smap = cache.getStyleMap(cacheContainer, node, triggerStates, hasInlineStyles);
+            // create a new Cache from these selectors.
+            cache = new Cache(selectorData);
+            cacheMap.put(key, cache);
 
-            return smap;
+            // cause a new Key to be created the next time this method is called
+            key = null;
         }
+
+        return cache;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -1963,8 +2489,13 @@ final public class StyleManager {
     // package for testing
     static class CacheContainer {
 
-        private Map<StyleCache.Key,StyleCache> getStyleCache() {
-            if (styleCache == null) styleCache = new HashMap<StyleCache.Key, StyleCache>();
+        private Set<String> getAncestorDependents() {
+            if (ancestorDependents == null) ancestorDependents = new HashSet<String>();
+            return ancestorDependents;
+        }
+
+        private Map<StyleCache.Key,SharedCacheEntry> getStyleCache() {
+            if (styleCache == null) styleCache = new HashMap<StyleCache.Key, SharedCacheEntry>();
             return styleCache;
         }
 
@@ -2044,8 +2575,16 @@ final public class StyleManager {
         private void clearCache() {
 
             if (cacheMap != null) cacheMap.clear();
-            if (styleCache != null) styleCache.clear();
+            if (styleCache != null) {
+                synchronized (styleLock) {
+                    for (SharedCacheEntry entry : styleCache.values()) {
+                        unlinkSharedCache(entry);
+                    }
+                }
+                styleCache.clear();
+            }
             if (styleMapList != null) styleMapList.clear();
+            if (ancestorDependents != null) ancestorDependents.clear();
 
             baseStyleMapId = styleMapId;
             // 7/8ths is totally arbitrary
@@ -2107,7 +2646,11 @@ final public class StyleManager {
 
         }
 
-        private Map<StyleCache.Key,StyleCache> styleCache;
+        private Map<StyleCache.Key,SharedCacheEntry> styleCache;
+
+        // The properties that nodes in this scene looked up, or inherited,
+        // from the styles of an ancestor
+        private Set<String> ancestorDependents;
 
         private Map<List<String>, Map<Key,Cache>> cacheMap;
 
@@ -2187,17 +2730,48 @@ final public class StyleManager {
         // list of selectors will be in the same order in which the selectors
         // appear in the stylesheets.
         private final List<Selector> selectors;
+        // For each selector, what the ancestors of a node must have for the
+        // selector to apply, or null. See AncestorFilter.
+        private final int[][] ancestorHashes;
+        // Whether any selector uses :dir(), whose match depends on the
+        // effective node orientation of the node.
+        private final boolean hasDirSelector;
         private final Map<Key, Integer> cache;
 
         Cache(List<Selector> selectors) {
             this.selectors = selectors;
+            this.ancestorHashes = new int[selectors.size()][];
+            boolean dir = false;
+            for (int n=0, nMax=selectors.size(); n<nMax; n++) {
+                final Selector selector = selectors.get(n);
+                ancestorHashes[n] = AncestorFilter.getAncestorHashes(selector);
+                dir = dir || isDirSelector(selector);
+            }
+            this.hasDirSelector = dir;
             this.cache = new HashMap<Key, Integer>();
         }
 
-        private StyleMap getStyleMap(CacheContainer cacheContainer, Node node, Set<PseudoClass>[] triggerStates, boolean hasInlineStyle) {
+        private static boolean isDirSelector(Selector selector) {
+            if (selector instanceof CompoundSelector) {
+                for (SimpleSelector simple : ((CompoundSelector) selector).getSelectors()) {
+                    if (simple.getNodeOrientation() != NodeOrientation.INHERIT) return true;
+                }
+                return false;
+            }
+            return selector instanceof SimpleSelector
+                    && ((SimpleSelector) selector).getNodeOrientation() != NodeOrientation.INHERIT;
+        }
 
-            if ((selectors == null || selectors.isEmpty()) && !hasInlineStyle) {
-                return StyleMap.EMPTY_MAP;
+        /*
+         * Find which of the selectors apply to the node, filling in
+         * triggerStates. Returns null if none apply. This only reads the
+         * selectors and the scene graph, so it may be called off the FX thread
+         * while the scene graph is not being modified.
+         */
+        private long[] match(Node node, Set<PseudoClass>[] triggerStates) {
+
+            if (selectors.isEmpty()) {
+                return null;
             }
 
             final int selectorDataSize = selectors.size();
@@ -2216,10 +2790,26 @@ final public class StyleManager {
             long key[] = new long[selectorDataSize/Long.SIZE + 1];
             boolean nothingMatched = true;
 
+            // Created on first use, since only compound selectors need it
+            AncestorFilter ancestorFilter = null;
+
             for (int s = 0; s < selectorDataSize; s++) {
 
                 final Selector sel = selectors.get(s);
 
+                //
+                // Reject a compound selector without walking up the parents
+                // if the ancestors of the node cannot satisfy it.
+                //
+                if (ancestorHashes[s] != null) {
+                    if (ancestorFilter == null) {
+                        ancestorFilter = new AncestorFilter(node);
+                    }
+                    if (!ancestorFilter.mightMatch(ancestorHashes[s])) {
+                        continue;
+                    }
+                }
+
                 //
                 // This particular flavor of applies takes a PseudoClassState[]
                 // fills in the pseudo-class states from the selectors where
@@ -2238,7 +2828,16 @@ final public class StyleManager {
                 // is unchanged.
                 //
 
-                if (sel.applies(node, triggerStates, 0)) {
+                final boolean applies;
+                if (CssProfiler.ENABLED) {
+                    final long start = System.nanoTime();
+                    applies = sel.applies(node, triggerStates, 0);
+                    CssProfiler.getDefaultBean().selectorMatched(sel, applies, System.nanoTime() - start);
+                } else {
+                    applies = sel.applies(node, triggerStates, 0);
+                }
+
+                if (applies) {
                     final int index = s / Long.SIZE;
                     final long mask = key[index] | 1l << s;
                     key[index] = mask;
@@ -2246,9 +2845,17 @@ final public class StyleManager {
                 }
             }
 
+            return nothingMatched ? null : key;
+        }
+
+        private StyleMap getStyleMap(CacheContainer cacheContainer, Node node, long[] key, boolean hasInlineStyle) {
+
             // nothing matched!
-            if (nothingMatched && hasInlineStyle == false) {
-                return StyleMap.EMPTY_MAP;
+            if (key == null) {
+                if (hasInlineStyle == false) {
+                    return StyleMap.EMPTY_MAP;
+                }
+                key = new long[selectors.size()/Long.SIZE + 1];
             }
 
             final String inlineStyle = node.getStyle();
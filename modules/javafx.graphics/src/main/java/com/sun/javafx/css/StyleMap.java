@@ -29,13 +29,18 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import javafx.css.CompoundSelector;
 import javafx.css.Declaration;
 import javafx.css.Match;
+import javafx.css.PseudoClass;
 import javafx.css.Rule;
 import javafx.css.Selector;
+import javafx.css.SimpleSelector;
 
 
 /**
@@ -68,6 +73,7 @@ public final class StyleMap {
 
             if (selectors == null || selectors.isEmpty()) {
                 cascadingStyles = Collections.emptyMap();
+                pseudoClassDependents = Collections.emptyMap();
                 return cascadingStyles;
             }
 
@@ -78,6 +84,7 @@ public final class StyleMap {
             // into the Map by property name.
             //
             List<CascadingStyle> cascadingStyleList = new ArrayList<>();
+            Map<PseudoClass, Set<String>> dependents = new HashMap<>();
 
             int ordinal = 0;
             for (int i=0, iMax=selectors.size(); i<iMax; i++) {
@@ -88,6 +95,11 @@ public final class StyleMap {
 
                 final Rule rule = selector.getRule();
 
+                // The pseudo-classes the matched node itself must be in for
+                // this selector to apply. Pseudo-classes of ancestors in a
+                // compound selector are tracked by the ancestor's StyleHelper.
+                final Set<PseudoClass> nodeStates = getNodeStates(selector, match);
+
                 for (int d = 0, dmax = rule.getDeclarations().size(); d < dmax; d++) {
                     final Declaration decl = rule.getDeclarations().get(d);
 
@@ -98,9 +110,14 @@ public final class StyleMap {
 
                     cascadingStyleList.add(s);
 
+                    for (PseudoClass pseudoClass : nodeStates) {
+                        dependents.computeIfAbsent(pseudoClass, k -> new HashSet<>()).add(s.getProperty());
+                    }
                 }
             }
 
+            pseudoClassDependents = dependents;
+
             if (cascadingStyleList.isEmpty()) {
                 cascadingStyles = Collections.emptyMap();
                 return cascadingStyles;
@@ -153,6 +170,30 @@ public final class StyleMap {
         return cascadingStyles;
     }
 
+    /**
+     * Get the names of the properties declared by styles that only apply while
+     * the matched node is in the given pseudo-class state. A change to that
+     * pseudo-class state can only change the values of these properties, or
+     * of properties whose values are looked up from them.
+     * @param pseudoClass the pseudo-class
+     * @return the dependent property names, never null
+     */
+    public Set<String> getPseudoClassDependents(PseudoClass pseudoClass) {
+        if (pseudoClassDependents == null) {
+            getCascadingStyles();
+        }
+        final Set<String> dependents = pseudoClassDependents.get(pseudoClass);
+        return dependents != null ? dependents : Collections.emptySet();
+    }
+
+    private static Set<PseudoClass> getNodeStates(Selector selector, Match match) {
+        if (selector instanceof CompoundSelector) {
+            final List<SimpleSelector> selectors = ((CompoundSelector) selector).getSelectors();
+            return selectors.get(selectors.size() - 1).createMatch().getPseudoClasses();
+        }
+        return match.getPseudoClasses();
+    }
+
     private static final Comparator<CascadingStyle> cascadingStyleComparator =
             (o1, o2) -> {
 
@@ -177,4 +218,5 @@ public final class StyleMap {
     private final int id; // unique per container
     private List<Selector> selectors;
     private Map<String, List<CascadingStyle>> cascadingStyles;
+    private Map<PseudoClass, Set<String>> pseudoClassDependents;
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.logging.PlatformLogger;
+import com.sun.javafx.logging.PlatformLogger.Level;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.jar.JarEntry;
+import javafx.css.CssParser;
+import javafx.css.Stylesheet;
+
+/**
+ * A cache of parsed stylesheets on disk that persists across launches. A
+ * stylesheet is kept in the binary css format, in a file named for a digest
+ * of the JavaFX runtime version, the stylesheet URL and the modification time
+ * and size of the stylesheet, so an edit to the stylesheet or an upgrade of
+ * JavaFX results in a new entry rather than a stale one. A stylesheet found
+ * in the cache is not read at all. Only stylesheets in files, in jar files
+ * and in the runtime image are cached. Stale entries are never removed.
+ * <p>
+ * The cache used by StyleManager is off unless the {@code javafx.css.cacheDir}
+ * system property names the directory to keep the cache in.
+ */
+public final class StylesheetCache {
+
+    private static final StylesheetCache INSTANCE;
+    private static final String RUNTIME_VERSION;
+
+    static {
+        @SuppressWarnings("removal")
+        String[] props = AccessController.doPrivileged((PrivilegedAction<String[]>) () -> new String[] {
+                System.getProperty("javafx.css.cacheDir"),
+                System.getProperty("javafx.runtime.version", "")
+        });
+        RUNTIME_VERSION = props[1];
+        INSTANCE = props[0] != null && props[0].isEmpty() == false
+                ? new StylesheetCache(new File(props[0]))
+                : null;
+    }
+
+    /*
+     * Parse the stylesheet at the given URL, going through the cache if it is
+     * enabled. Must be called from a privileged context.
+     */
+    static Stylesheet parseStylesheet(final URL url) throws IOException {
+        return INSTANCE != null ? INSTANCE.parse(url) : new CssParser().parse(url);
+    }
+
+    private final File dir;
+
+    /**
+     * Creates a cache that keeps its entries in the given directory, which is
+     * created when the first entry is written.
+     *
+     * @param dir the cache directory
+     */
+    public StylesheetCache(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Parses the stylesheet at the given URL, or loads it from the cache if
+     * it was parsed before and has not been modified since.
+     *
+     * @param url the URL of the stylesheet
+     * @return the stylesheet
+     * @throws IOException if the stylesheet cannot be read
+     */
+    public Stylesheet parse(final URL url) throws IOException {
+
+        final String version = version(url);
+        if (version == null) {
+            return new CssParser().parse(url);
+        }
+
+        final File entry = new File(dir, digest(url, version) + ".bss");
+
+        if (entry.isFile()) {
+            try {
+                final byte[] bytes = Files.readAllBytes(entry.toPath());
+                return StylesheetHelper.loadBinary(new ByteArrayInputStream(bytes), url.toExternalForm());
+            } catch (IOException | RuntimeException e) {
+                // a partially written or otherwise unreadable entry
+                final PlatformLogger logger = getLogger();
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.fine("Discarding cached stylesheet " + entry + " for " + url + ": " + e);
+                }
+                entry.delete();
+            }
+        }
+
+        final byte[] content;
+        try (InputStream stream = url.openStream()) {
+            content = stream.readAllBytes();
+        }
+
+        final Stylesheet stylesheet = parse(url, content);
+        // The rules of an imported stylesheet end up in this one, but
+        // changes to it do not change the key, so they would go unseen.
+        if (hasImport(content) == false) {
+            store(entry, stylesheet);
+        }
+        return stylesheet;
+    }
+
+    /*
+     * Returns a string that changes whenever the content of the stylesheet at
+     * the given URL does, without reading the content, or null if there is no
+     * such string for the URL.
+     */
+    private static String version(final URL url) throws IOException {
+        switch (url.getProtocol()) {
+            case "file":
+                final File file;
+                try {
+                    file = new File(url.toURI());
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    return null;
+                }
+                final long lastModified = file.lastModified();
+                return lastModified != 0L ? lastModified + ":" + file.length() : null;
+            case "jar":
+                final URLConnection connection = url.openConnection();
+                if (connection instanceof JarURLConnection) {
+                    final JarEntry jarEntry = ((JarURLConnection) connection).getJarEntry();
+                    if (jarEntry != null && jarEntry.getTime() != -1L && jarEntry.getSize() != -1L) {
+                        return jarEntry.getTime() + ":" + jarEntry.getSize();
+                    }
+                }
+                return null;
+            case "jrt":
+                // part of the runtime image, which changes with the version
+                return RUNTIME_VERSION.isEmpty() ? null : RUNTIME_VERSION;
+            default:
+                return null;
+        }
+    }
+
+    private static Stylesheet parse(final URL url, final byte[] content) throws IOException {
+        // CssParser#parse(URL) reads with the default charset, too
+        return new CssParser().parse(url.toExternalForm(), new String(content, Charset.defaultCharset()));
+    }
+
+    /*
+     * Write the stylesheet to a temporary file and move it into place, so
+     * that another process reading the cache never sees a partial entry.
+     */
+    private void store(final File entry, final Stylesheet stylesheet) {
+        File temp = null;
+        try {
+            if (dir.isDirectory() == false && dir.mkdirs() == false) {
+                throw new IOException("cannot create " + dir);
+            }
+            temp = File.createTempFile("stylesheet", ".tmp", dir);
+            try (FileOutputStream stream = new FileOutputStream(temp)) {
+                StylesheetHelper.writeBinary(stylesheet, stream);
+            }
+            try {
+                Files.move(temp.toPath(), entry.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (IOException | RuntimeException e) {
+            final PlatformLogger logger = getLogger();
+            if (logger.isLoggable(Level.WARNING)) {
+                logger.warning("Could not cache stylesheet " + stylesheet.getUrl() + " in " + dir + ": " + e);
+            }
+        } finally {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    private static String digest(final URL url, final String version) {
+        try {
+            final MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(RUNTIME_VERSION.getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(url.toExternalForm().getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(version.getBytes(StandardCharsets.UTF_8));
+
+            final StringBuilder sb = new StringBuilder(64);
+            for (byte b : md.digest()) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(b & 0xf, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform implementation is required to support SHA-256
+            throw new AssertionError(e);
+        }
+    }
+
+    // Look for "@import" anywhere, ignoring case. A match in a comment or a
+    // string only means the stylesheet is not cached.
+    private static boolean hasImport(final byte[] content) {
+        final byte[] word = { '@', 'i', 'm', 'p', 'o', 'r', 't' };
+        for (int n = 0, nMax = content.length - word.length; n <= nMax; n++) {
+            int w = 0;
+            while (w < word.length && Character.toLowerCase(content[n + w]) == word[w]) {
+                w++;
+            }
+            if (w == word.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static PlatformLogger getLogger() {
+        return com.sun.javafx.util.Logging.getCSSLogger();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shares structurally equal, immutable values calculated from CSS, such as
+ * Insets, CornerRadii, Background and Border. Every node styled by the same
+ * rules would otherwise hold its own copy of the same values. The values are
+ * weakly held, so one that is no longer used by any node is still collected.
+ */
+public final class ValueInterner {
+
+    private static final Map<Object, WeakReference<Object>> values = new WeakHashMap<>();
+
+    private ValueInterner() {
+    }
+
+    /**
+     * Get the value equal to the given value that was interned first, or
+     * intern the given value if there is none.
+     * @param value an immutable value, or null
+     * @return the interned value equal to value, or null if value is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T intern(T value) {
+        if (value == null) return null;
+
+        synchronized (values) {
+            final WeakReference<Object> ref = values.get(value);
+            final Object interned = ref != null ? ref.get() : null;
+            if (interned != null) {
+                return (T) interned;
+            }
+            values.put(value, new WeakReference<>(value));
+            return value;
+        }
+    }
+}
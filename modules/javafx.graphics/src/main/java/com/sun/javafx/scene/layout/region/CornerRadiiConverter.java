@@ -25,6 +25,7 @@
 
 package com.sun.javafx.scene.layout.region;
 
+import com.sun.javafx.css.ValueInterner;
 import javafx.css.Size;
 import javafx.css.SizeUnits;
 import javafx.css.ParsedValue;
@@ -68,7 +69,7 @@ public final class CornerRadiiConverter extends StyleConverter<ParsedValue<Parse
             Size bottomRightVerticalRadius = sizes[1][2].convert(font);
             Size bottomLeftVerticalRadius = sizes[1][3].convert(font);
 
-            cornerRadiiValues[n] = new CornerRadii(
+            cornerRadiiValues[n] = ValueInterner.intern(new CornerRadii(
                     topLeftHorizontalRadius.pixels(font),     topLeftVerticalRadius.pixels(font),
                     topRightVerticalRadius.pixels(font),      topRightHorizontalRadius.pixels(font),
                     bottomRightHorizontalRadius.pixels(font), bottomRightVerticalRadius.pixels(font),
@@ -77,7 +78,7 @@ public final class CornerRadiiConverter extends StyleConverter<ParsedValue<Parse
                     topRightVerticalRadius.getUnits()      == SizeUnits.PERCENT, topRightHorizontalRadius.getUnits()   == SizeUnits.PERCENT,
                     bottomRightHorizontalRadius.getUnits() == SizeUnits.PERCENT, bottomRightVerticalRadius.getUnits()  == SizeUnits.PERCENT,
                     bottomRightVerticalRadius.getUnits()   == SizeUnits.PERCENT, bottomLeftHorizontalRadius.getUnits() == SizeUnits.PERCENT
-            );
+            ));
 
         }
 
@@ -33,6 +33,7 @@ import javafx.scene.effect.BlurType;
 import javafx.scene.image.Image;
 import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
 import javafx.scene.input.Dragboard;
 import javafx.scene.input.InputMethodRequests;
 import javafx.scene.input.KeyCode;
@@ -57,6 +58,7 @@ import javafx.stage.Window;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.security.AccessControlContext;
 import java.security.AccessController;
@@ -842,6 +844,12 @@ public abstract class Toolkit {
 
         // PlatformImage into which to render or null
         public Object platformImage;
+
+        // Buffer into which to write the rendered pixels instead of a
+        // PlatformImage, starting at its position, or null
+        public Buffer pixels;
+        public WritablePixelFormat<?> pixelFormat;
+        public int pixelsScanlineStride;
     }
 
     /*
@@ -870,6 +878,9 @@ public abstract class Toolkit {
      * If it is non-null then it may be reused as the return value
      * of this method if it is still valid and large enough to
      * hold the requested size.
+     * If the pixels specified in the params are non-null then the
+     * rendered pixels are written into that buffer in the specified
+     * pixelFormat instead, and the returned object is null.
      *
      * @param context a ImageRenderingContext instance specifying
      *               the various rendering parameters
@@ -879,6 +890,26 @@ public abstract class Toolkit {
 
     public abstract Object renderToImage(ImageRenderingContext context);
 
+    /*
+     * This method renders several PG-graphs to platform image objects,
+     * as specified by renderToImage for each of the contexts.
+     * A toolkit may render all of the contexts in a single render job
+     * and reuse its render targets between them.
+     *
+     * @param contexts the ImageRenderingContext instances specifying
+     *               the rendering parameters of each image
+     * @return the platform specific image objects, in the order of
+     *               the contexts
+     * @see #renderToImage
+     */
+    public Object[] renderToImages(ImageRenderingContext[] contexts) {
+        Object[] images = new Object[contexts.length];
+        for (int i = 0; i < contexts.length; i++) {
+            images[i] = renderToImage(contexts[i]);
+        }
+        return images;
+    }
+
     /**
      * Returns the key code for the key which is commonly used on the
      * corresponding platform as a modifier key in shortcuts. For example
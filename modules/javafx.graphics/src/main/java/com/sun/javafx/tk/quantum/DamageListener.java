@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk.quantum;
+
+import java.nio.IntBuffer;
+import com.sun.glass.ui.Window;
+import com.sun.javafx.geom.Rectangle;
+
+/**
+ * Receives the regions of a window that changed when its scene was painted,
+ * along with the pixels of the painted frame. This lets a remote display
+ * send only the damaged parts of each frame.
+ *
+ * Listeners are registered with {@link QuantumToolkit#addDamageListener}.
+ * They are only called for scenes whose pixels are uploaded to the window,
+ * as is done with the software pipeline and by the Monocle headless and
+ * VNC platforms.
+ */
+public interface DamageListener {
+
+    /**
+     * Called after a frame of the given window has been painted and before
+     * it is uploaded. The pixels are only valid for the duration of the
+     * call. This method may be called on the render thread or on one of the
+     * upload threads, but never concurrently for the same window.
+     *
+     * @param window the window that was painted
+     * @param regions the damaged regions in frame pixels, which cover the
+     *        whole frame if the entire scene was painted
+     * @param pixels a read-only buffer of the frame, in INT_ARGB_PRE format,
+     *        positioned at zero with a scanline stride equal to the width
+     * @param width the width of the frame in pixels
+     * @param height the height of the frame in pixels
+     */
+    void frameDamaged(Window window, Rectangle[] regions, IntBuffer pixels, int width, int height);
+}
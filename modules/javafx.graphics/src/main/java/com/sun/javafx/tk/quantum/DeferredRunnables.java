@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk.quantum;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.sun.glass.ui.Application;
+
+/**
+ * Posts the runnables passed to Toolkit.defer, which backs Platform.runLater,
+ * to the native event loop.
+ * <p>
+ * By default every runnable is posted as an event of its own, so it runs
+ * after the native events that were queued before it was deferred, and
+ * before the ones queued after it.
+ * <p>
+ * When coalescing, a runnable deferred while earlier ones are still waiting
+ * joins them instead of posting another event, so a burst of runnables costs
+ * a single native event. Runnables still run in the order they were
+ * deferred, but a runnable may now run ahead of native events, such as
+ * input events, that were queued after the first runnable of its batch.
+ */
+final class DeferredRunnables {
+
+    private final Consumer<Runnable> poster;
+    private final boolean coalesce;
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean posted = new AtomicBoolean(false);
+    private final Runnable runner = () -> runQueued();
+
+    DeferredRunnables(Consumer<Runnable> poster, boolean coalesce) {
+        this.poster = poster;
+        this.coalesce = coalesce;
+    }
+
+    void defer(Runnable runnable) {
+        if (!coalesce) {
+            poster.accept(runnable);
+            return;
+        }
+        queue.add(runnable);
+        post();
+    }
+
+    private void post() {
+        if (!posted.getAndSet(true)) {
+            poster.accept(runner);
+        }
+    }
+
+    private void runQueued() {
+        posted.set(false);
+        Runnable runnable;
+        while ((runnable = queue.poll()) != null) {
+            if (!queue.isEmpty()) {
+                // The runnable might enter a nested event loop, so the
+                // remaining ones must be able to run from there
+                post();
+            }
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                Application.reportException(t);
+            }
+        }
+    }
+}
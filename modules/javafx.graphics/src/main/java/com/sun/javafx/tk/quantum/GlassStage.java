@@ -71,6 +71,7 @@ abstract class GlassStage implements TKStage {
         windows.remove(this);
         importantWindows.remove(this);
         notifyWindowListeners();
+        updateStagesOnScreen();
     }
 
     /**
@@ -155,12 +156,41 @@ abstract class GlassStage implements TKStage {
         if (scene != null) {
             scene.stageVisible(visible);
         }
+        updateStagesOnScreen();
     }
 
     boolean isVisible() {
         return visible;
     }
 
+    boolean isIconified() {
+        return false;
+    }
+
+    /**
+     * Returns whether any stage is visible and not iconified. This is also
+     * true when there are no stages at all, as there is no way to tell
+     * whether the application will show one.
+     */
+    static boolean isAnyStageOnScreen() {
+        if (windows.isEmpty()) {
+            return true;
+        }
+        for (GlassStage window : windows) {
+            if (window.isVisible() && !window.isIconified()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void updateStagesOnScreen() {
+        Toolkit toolkit = Toolkit.getToolkit();
+        if (toolkit instanceof QuantumToolkit) {
+            ((QuantumToolkit) toolkit).updateStagesOnScreen();
+        }
+    }
+
     // We do blocking on windows that are backed by WindowStage and EmbeddedStage
     protected void setPlatformEnabled(boolean enabled) {
         // Overridden in subclasses
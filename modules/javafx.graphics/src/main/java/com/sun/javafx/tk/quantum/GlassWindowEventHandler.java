@@ -56,14 +56,17 @@ class GlassWindowEventHandler extends Window.EventHandler implements PrivilegedA
         switch (type) {
             case WindowEvent.MINIMIZE:
                 stage.stageListener.changedIconified(true);
+                GlassStage.updateStagesOnScreen();
                 break;
             case WindowEvent.MAXIMIZE:
                 stage.stageListener.changedIconified(false);
                 stage.stageListener.changedMaximized(true);
+                GlassStage.updateStagesOnScreen();
                 break;
             case WindowEvent.RESTORE:
                 stage.stageListener.changedIconified(false);
                 stage.stageListener.changedMaximized(false);
+                GlassStage.updateStagesOnScreen();
                 break;
             case WindowEvent.MOVE: {
                 float wx = window.getX();
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.tk.quantum;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lowers the pulse rate while stages exist but none of them is on screen.
+ * Timer ticks closer together than 1 / rate seconds are skipped; a rate of 0
+ * or less disables this. The on-screen state is set on the FX thread and read
+ * on the timer thread.
+ */
+final class HiddenPulseThrottle {
+
+    private final long interval;
+    private volatile boolean stagesOnScreen = true;
+    private long lastPulseTime;
+
+    HiddenPulseThrottle(int rate) {
+        interval = rate > 0 ? TimeUnit.SECONDS.toNanos(1L) / rate : 0L;
+    }
+
+    /**
+     * Returns true if the stages have just come back on screen, so that the
+     * caller can request a pulse without waiting for the next tick.
+     */
+    boolean setStagesOnScreen(boolean onScreen) {
+        if (onScreen == stagesOnScreen) {
+            return false;
+        }
+        stagesOnScreen = onScreen;
+        return onScreen;
+    }
+
+    /**
+     * Called on the timer thread for each tick, at the given System.nanoTime.
+     */
+    boolean skipPulse(long now) {
+        if (stagesOnScreen || interval == 0L) {
+            return false;
+        }
+        if (now - lastPulseTime < interval) {
+            return true;
+        }
+        lastPulseTime = now;
+        return false;
+    }
+}
@@ -69,7 +69,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -92,6 +94,9 @@ import com.sun.javafx.geom.Path2D;
 import com.sun.javafx.geom.PathIterator;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.image.PixelConverter;
+import com.sun.javafx.image.PixelUtils;
+import com.sun.javafx.image.impl.IntArgbPre;
 import com.sun.javafx.perf.PerformanceTracker;
 import com.sun.javafx.runtime.async.AbstractRemoteResource;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
@@ -159,6 +164,54 @@ public final class QuantumToolkit extends Toolkit {
                 return result;
             });
 
+    /**
+     * The number of threads used to copy the rendered pixels of uploading
+     * scenes into the window buffers, so that the render thread can paint
+     * the next dirty scene in the meantime. A value of 0, which is the
+     * default, does the copy on the render thread.
+     */
+    @SuppressWarnings("removal")
+    static final int uploadThreads =
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () -> {
+                int result = Math.max(0, Integer.getInteger("quantum.uploadthreads", 0));
+                if (verbose && result > 0) {
+                    System.out.println("Parallel upload enabled with " + result + " threads");
+                }
+                return result;
+            });
+
+    /**
+     * The pulse rate, in Hz, used while stages exist but none of them is on
+     * screen because they are all hidden or iconified. Animations keep
+     * running at the right speed, only fewer of their frames are computed,
+     * since none of them could be seen. A value of 0 or less disables this.
+     */
+    @SuppressWarnings("removal")
+    private static final int hiddenPulseRate =
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer.getInteger("quantum.hiddenpulserate", 10));
+
+    /**
+     * Whether runnables passed to Platform.runLater in a burst are run by a
+     * single native event rather than one event each. They still run in the
+     * order they were posted, but may run ahead of native events, such as
+     * input events, that were queued after the first runnable of the burst.
+     * See DeferredRunnables.
+     */
+    @SuppressWarnings("removal")
+    private static final boolean coalesceRunLater =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("quantum.coalescerunlater"));
+
+    /**
+     * Whether to render animations offline, for example into a Monocle
+     * HeadlessFrameSink. Pulses then run back to back, as fast as the timer
+     * allows, and the rendering of each pulse completes before the next one
+     * starts. Only used when com.sun.scenario.animation.fixed.pulse.length is
+     * also set, so that animation time does not follow the wall clock.
+     */
+    @SuppressWarnings("removal")
+    private static final boolean offline =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("quantum.offline"));
+
     @SuppressWarnings("removal")
     private static boolean debug =
             AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("quantum.debug"));
@@ -235,6 +288,9 @@ public final class QuantumToolkit extends Toolkit {
     private static final long       PAUSE_THRESHOLD_DURATION = 250;
     private float                   _maxPixelScale;
     private Runnable                pulseRunnable, userRunnable, timerRunnable;
+    private final HiddenPulseThrottle hiddenPulseThrottle = new HiddenPulseThrottle(hiddenPulseRate);
+    private final DeferredRunnables deferredRunnables =
+            new DeferredRunnables(Application::invokeLater, coalesceRunLater);
     private Timer                   pulseTimer = null;
     private Thread                  shutdownHook = null;
     private PaintCollector          collector;
@@ -313,8 +369,14 @@ public final class QuantumToolkit extends Toolkit {
         // not implemented
     }
 
+    private boolean isOffline() {
+        return offline && getPrimaryTimer().isFixedPulseLength();
+    }
+
     boolean shouldWaitForRenderingToComplete() {
-        return !multithreaded;
+        // Offline each pulse stands for one frame of the animation, so its
+        // rendering must complete before the next one
+        return !multithreaded || isOffline();
     }
 
     /**
@@ -384,6 +446,11 @@ public final class QuantumToolkit extends Toolkit {
                  * Application.invokeLater(pulseRunnable);
                  */
                 pulseTimer.start(FULLSPEED_INTERVAL);
+            } else if (isOffline()) {
+                // Animation time does not depend on the wall clock, so
+                // there is no point in throttling the pulses. Run them
+                // back to back where the timer supports it.
+                pulseTimer.start(Timer.getMinPeriod());
             } else {
                 nativeSystemVsync = Screen.getVideoRefreshPeriod() != 0.0;
                 if (nativeSystemVsync) {
@@ -445,6 +512,26 @@ public final class QuantumToolkit extends Toolkit {
         }
     }
 
+    // Listeners notified of the damaged regions of each uploaded frame
+    static final List<DamageListener> damageListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Adds a listener that is notified of the regions of each window that
+     * change when its scene is painted.
+     * @param listener the listener to add
+     */
+    public static void addDamageListener(DamageListener listener) {
+        damageListeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes a listener that was added by {@link #addDamageListener}.
+     * @param listener the listener to remove
+     */
+    public static void removeDamageListener(DamageListener listener) {
+        damageListeners.remove(listener);
+    }
+
     boolean hasNativeSystemVsync() {
         return nativeSystemVsync;
     }
@@ -488,6 +575,12 @@ public final class QuantumToolkit extends Toolkit {
     }
 
     void postPulse() {
+        if (hiddenPulseThrottle.skipPulse(System.nanoTime())) {
+            if (debug) {
+                System.err.println("QT.postPulse#(" + System.nanoTime() + "): SKIP HIDDEN : " + pulseString());
+            }
+            return;
+        }
         if (toolkitRunning.get() &&
             (animationRunning.get() || nextPulseRequested.get()) &&
             !setPulseRunning()) {
@@ -504,6 +597,17 @@ public final class QuantumToolkit extends Toolkit {
         }
     }
 
+    /**
+     * Called on the FX thread when a stage is shown, hidden, closed,
+     * iconified or restored.
+     */
+    void updateStagesOnScreen() {
+        if (hiddenPulseThrottle.setStagesOnScreen(GlassStage.isAnyStageOnScreen())) {
+            // pulse at the full rate from the next tick on
+            requestNextPulse();
+        }
+    }
+
     private synchronized void pauseTimer() {
         if (!pauseRequested) {
             pauseRequested = true;
@@ -820,7 +924,7 @@ public final class QuantumToolkit extends Toolkit {
     @Override public void defer(Runnable runnable) {
         if (!toolkitRunning.get()) return;
 
-        Application.invokeLater(runnable);
+        deferredRunnables.defer(runnable);
     }
 
     @Override public void exit() {
@@ -1470,11 +1574,75 @@ public final class QuantumToolkit extends Toolkit {
     @Override
     public Object renderToImage(ImageRenderingContext p) {
         Object saveImage = p.platformImage;
-        final ImageRenderingContext params = p;
-        final com.sun.prism.paint.Paint currentPaint = p.platformPaint instanceof com.sun.prism.paint.Paint ?
-                (com.sun.prism.paint.Paint)p.platformPaint : null;
 
-        RenderJob re = new RenderJob(new Runnable() {
+        runRenderJobAndWait(createRenderToImageRunnable(p, null));
+
+        Object image = p.platformImage;
+        p.platformImage = saveImage;
+
+        return image;
+    }
+
+    @Override
+    public Object[] renderToImages(ImageRenderingContext[] contexts) {
+        final Object[] saveImages = new Object[contexts.length];
+        final Runnable[] runnables = new Runnable[contexts.length];
+        // A render target shared by all the images, which is reused as
+        // long as consecutive images have the same size.
+        final QuantumImage rttCache = new QuantumImage((com.sun.prism.Image) null);
+        for (int i = 0; i < contexts.length; i++) {
+            saveImages[i] = contexts[i].platformImage;
+            runnables[i] = createRenderToImageRunnable(contexts[i], rttCache);
+        }
+
+        runRenderJobAndWait(() -> {
+            try {
+                for (Runnable runnable : runnables) {
+                    runnable.run();
+                }
+            } finally {
+                rttCache.dispose();
+            }
+        });
+
+        final Object[] images = new Object[contexts.length];
+        for (int i = 0; i < contexts.length; i++) {
+            images[i] = contexts[i].platformImage;
+            contexts[i].platformImage = saveImages[i];
+        }
+
+        return images;
+    }
+
+    private void runRenderJobAndWait(Runnable runnable) {
+        RenderJob re = new RenderJob(runnable);
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        re.setCompletionListener(job -> latch.countDown());
+        addRenderJob(re);
+
+        do {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException ex) {
+                ex.printStackTrace();
+            }
+        } while (true);
+    }
+
+    /*
+     * Creates the runnable that renders the given context on the render
+     * thread. When rttCache is not null, the image is rendered into its
+     * render target instead of the one cached by the target image, and the
+     * pixels are copied out of it.
+     */
+    private Runnable createRenderToImageRunnable(final ImageRenderingContext params,
+                                                 final QuantumImage rttCache) {
+        final com.sun.prism.paint.Paint currentPaint = params.platformPaint instanceof com.sun.prism.paint.Paint ?
+                (com.sun.prism.paint.Paint)params.platformPaint : null;
+
+        return new Runnable() {
 
             private com.sun.prism.paint.Color getClearColor() {
                 if (currentPaint == null) {
@@ -1526,6 +1694,11 @@ public final class QuantumToolkit extends Toolkit {
                 }
                 Graphics g = rt.createGraphics();
                 draw(g, x + xOffset, y + yOffset, w, h);
+                if (targetImg == null) {
+                    writePixels(rt, xOffset, yOffset, w, h, buffer);
+                    rt.unlock();
+                    return;
+                }
                 int[] pixels = rt.getPixels();
                 if (pixels != null) {
                     buffer.put(pixels);
@@ -1539,13 +1712,15 @@ public final class QuantumToolkit extends Toolkit {
             }
 
             private void renderWholeImage(int x, int y, int w, int h, ResourceFactory rf, QuantumImage pImage) {
-                RTTexture rt = pImage.getRT(w, h, rf);
+                RTTexture rt = (rttCache != null) ? rttCache.getRT(w, h, rf) : pImage.getRT(w, h, rf);
                 if (rt == null) {
                     return;
                 }
                 Graphics g = rt.createGraphics();
                 draw(g, x, y, w, h);
-                int[] pixels = rt.getPixels();
+                // The pixels of a shared render target are overwritten by the
+                // next image, so they are always copied
+                int[] pixels = (rttCache != null) ? null : rt.getPixels();
                 if (pixels != null) {
                     pImage.setImage(com.sun.prism.Image.fromIntArgbPreData(pixels, w, h));
                 } else {
@@ -1561,6 +1736,42 @@ public final class QuantumToolkit extends Toolkit {
             }
 
 
+            private void renderPixels(int x, int y, int w, int h, ResourceFactory rf, QuantumImage rtImg) {
+                RTTexture rt = rtImg.getRT(w, h, rf);
+                if (rt == null) {
+                    return;
+                }
+                Graphics g = rt.createGraphics();
+                draw(g, x, y, w, h);
+                writePixels(rt, 0, 0, w, h, null);
+                rt.unlock();
+            }
+
+            /*
+             * Converts the pixels of the render target into the pixel format
+             * of params.pixels, and writes them there at the given offset,
+             * without an intermediate image.
+             */
+            @SuppressWarnings("unchecked")
+            private void writePixels(RTTexture rt, int xOffset, int yOffset, int w, int h, IntBuffer buffer) {
+                IntBuffer src;
+                int[] pixels = rt.getPixels();
+                if (pixels != null) {
+                    src = IntBuffer.wrap(pixels);
+                } else {
+                    src = (buffer != null) ? buffer : IntBuffer.allocate(w * h);
+                    if (!rt.readPixels(src, rt.getContentX(), rt.getContentY(), w, h)) {
+                        return;
+                    }
+                }
+                PixelConverter<IntBuffer, Buffer> converter = PixelUtils.getConverter(IntArgbPre.getter,
+                        PixelUtils.getSetter((javafx.scene.image.WritablePixelFormat<Buffer>) params.pixelFormat));
+                int elemsPerPixel = (params.pixels instanceof ByteBuffer) ? 4 : 1;
+                int dstoff = params.pixels.position() +
+                        yOffset * params.pixelsScanlineStride + xOffset * elemsPerPixel;
+                converter.convert(src, 0, w, params.pixels, dstoff, params.pixelsScanlineStride, w, h);
+            }
+
             private int computeTileSize(int size, int maxSize) {
                 // If 'size' divided by either 2 or 3 produce an exact result
                 // and is lesser that the specified maxSize, then use this value
@@ -1596,15 +1807,19 @@ public final class QuantumToolkit extends Toolkit {
                 // A temp QuantumImage used only as a RTT cache for rendering tiles.
                 QuantumImage tileRttCache = null;
                 try {
-                    QuantumImage pImage = (params.platformImage instanceof QuantumImage) ?
-                            (QuantumImage) params.platformImage : new QuantumImage((com.sun.prism.Image) null);
+                    // There is no target image when rendering into params.pixels
+                    QuantumImage pImage = null;
+                    if (params.pixels == null) {
+                        pImage = (params.platformImage instanceof QuantumImage) ?
+                                (QuantumImage) params.platformImage : new QuantumImage((com.sun.prism.Image) null);
+                    }
 
                     int maxTextureSize = rf.getMaximumTextureSize();
                     if (h > maxTextureSize || w > maxTextureSize) {
                         tileRttCache = new QuantumImage((com.sun.prism.Image) null);
                         // The requested size for the snapshot is too big to fit a single texture,
                         // so we need to take several snapshot tiles and merge them into pImage
-                        if (pImage.image == null) {
+                        if (pImage != null && pImage.image == null) {
                             pImage.setImage(com.sun.prism.Image.fromIntArgbPreData(IntBuffer.allocate(w * h), w, h));
                         }
 
@@ -1661,7 +1876,12 @@ public final class QuantumToolkit extends Toolkit {
                                     buffer, rf, tileRttCache, pImage);
                         }
                     }
-                    else {
+                    else if (pImage == null) {
+                        if (rttCache == null) {
+                            tileRttCache = new QuantumImage((com.sun.prism.Image) null);
+                        }
+                        renderPixels(x, y, w, h, rf, (rttCache != null) ? rttCache : tileRttCache);
+                    } else {
                         // The requested size for the snapshot fits max texture size,
                         // so we can directly render it in the target image.
                         renderWholeImage(x, y, w, h, rf, pImage);
@@ -1678,25 +1898,7 @@ public final class QuantumToolkit extends Toolkit {
                     rf.getTextureResourcePool().freeDisposalRequestedAndCheckResources(errored);
                 }
             }
-        });
-
-        final CountDownLatch latch = new CountDownLatch(1);
-        re.setCompletionListener(job -> latch.countDown());
-        addRenderJob(re);
-
-        do {
-            try {
-                latch.await();
-                break;
-            } catch (InterruptedException ex) {
-                ex.printStackTrace();
-            }
-        } while (true);
-
-        Object image = params.platformImage;
-        params.platformImage = saveImage;
-
-        return image;
+        };
     }
 
     @Override
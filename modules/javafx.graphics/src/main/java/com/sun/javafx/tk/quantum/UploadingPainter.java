@@ -26,7 +26,16 @@
 package com.sun.javafx.tk.quantum;
 
 import java.nio.IntBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import com.sun.glass.ui.Pixels;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.prism.Graphics;
 import com.sun.prism.GraphicsPipeline;
 import com.sun.prism.RTTexture;
@@ -40,6 +49,15 @@ import com.sun.prism.impl.QueuedPixelSource;
  */
 final class UploadingPainter extends ViewPainter implements Runnable {
 
+    /**
+     * Copies the rendered pixels into the window buffers when
+     * quantum.uploadthreads is set, so that the copies for several
+     * dirty scenes run in parallel with the painting of the next scene.
+     * Null when the copy is done on the render thread.
+     */
+    private static final ExecutorService uploadExecutor =
+            QuantumToolkit.uploadThreads > 0 ? createUploadExecutor() : null;
+
     private RTTexture   rttexture;
     // resolveRTT is a temporary render target to "resolve" a msaa render buffer
     // into a normal color render target.
@@ -48,11 +66,23 @@ final class UploadingPainter extends ViewPainter implements Runnable {
     private QueuedPixelSource pixelSource = new QueuedPixelSource(true);
     private float penScaleX, penScaleY;
 
+    // The copy of the previous frame that may still be running on the
+    // upload executor. Only accessed on the render thread.
+    //
+    // The copy reads the pixel array of rttexture or resolveRTT after run
+    // has unlocked them. This is safe because that array belongs to the
+    // render target and is only written by painting into it, which only
+    // run does, and run waits for the pending copy before anything else.
+    // Disposing a render target does not touch its array either, but any
+    // code that paints into or replaces them must run after the wait.
+    private Future<?> pendingUpload;
+
     UploadingPainter(GlassScene view) {
         super(view);
     }
 
     void disposeRTTexture() {
+        assert pendingUpload == null : "render targets disposed while a copy reads them";
         if (rttexture != null) {
             rttexture.dispose();
             rttexture = null;
@@ -73,11 +103,112 @@ final class UploadingPainter extends ViewPainter implements Runnable {
         return sceneState.getRenderScaleY();
     }
 
+    @SuppressWarnings("removal")
+    private static ExecutorService createUploadExecutor() {
+        final AtomicInteger threadNumber = new AtomicInteger(0);
+        final ThreadFactory factory = runnable -> AccessController.doPrivileged(
+                (PrivilegedAction<Thread>) () -> {
+                    Thread th = new Thread(runnable);
+                    th.setName("QuantumUploader-" + threadNumber.getAndIncrement());
+                    th.setDaemon(true);
+                    return th;
+                });
+        return Executors.newFixedThreadPool(QuantumToolkit.uploadThreads, factory);
+    }
+
+    /*
+     * Waits for the copy of the previous frame to finish, since it reads
+     * from the render targets that are about to be painted again. If the
+     * copy failed, its exception is rethrown so that run handles it like
+     * any other error of the render thread.
+     */
+    private void waitForPendingUpload() {
+        if (pendingUpload == null) {
+            return;
+        }
+        boolean interrupted = false;
+        Throwable failure = null;
+        try {
+            while (true) {
+                try {
+                    pendingUpload.get();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    failure = ex.getCause();
+                    break;
+                }
+            }
+        } finally {
+            pendingUpload = null;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure != null) {
+            // The frame was never uploaded, so the next one must be complete
+            sceneState.getScene().entireSceneNeedsRepaint();
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            throw new RuntimeException(failure);
+        }
+    }
+
+    /*
+     * Copies the rendered frame into the window buffer on the upload
+     * executor and then uploads it.
+     */
+    private Future<?> submitUpload(final Pixels pix, final Rectangle[] damage, final IntBuffer bits,
+                                   final int[] rawbits, final int width, final int height) {
+        return uploadExecutor.submit(() -> {
+            bits.put(rawbits, 0, width * height);
+            upload(pix, damage);
+        });
+    }
+
+    /*
+     * Notifies the damage listeners of the regions that changed in the frame,
+     * before the pixels are handed over to the window.
+     */
+    private void notifyDamageListeners(Pixels pix, Rectangle[] damage) {
+        final int width = pix.getWidthUnsafe();
+        final int height = pix.getHeightUnsafe();
+        final Rectangle[] regions = (damage != null) ? damage
+                : new Rectangle[] { new Rectangle(width, height) };
+        final IntBuffer frame = (IntBuffer) pix.getPixels();
+        for (DamageListener listener : QuantumToolkit.damageListeners) {
+            try {
+                listener.frameDamaged(sceneState.getWindow(), regions,
+                        frame.asReadOnlyBuffer(), width, height);
+            } catch (Throwable th) {
+                th.printStackTrace(System.err);
+            }
+        }
+    }
+
+    private void upload(Pixels pix, Rectangle[] damage) {
+        if (!QuantumToolkit.damageListeners.isEmpty()) {
+            notifyDamageListeners(pix, damage);
+        }
+        /* transparent pixels created and ready for upload */
+        // Copy references, which are volatile, used by upload. Thus
+        // ensure they still exist once event queue is consumed.
+        pixelSource.enqueuePixels(pix);
+        sceneState.uploadPixels(pixelSource);
+    }
+
     @Override public void run() {
         renderLock.lock();
 
         boolean errored = false;
         try {
+            waitForPendingUpload();
+
             if (!validateStageGraphics()) {
                 if (QuantumToolkit.verbose) {
                     System.err.println("UploadingPainter: validateStageGraphics failed");
@@ -141,6 +272,10 @@ final class UploadingPainter extends ViewPainter implements Runnable {
             }
             g.scale(scalex, scaley);
             paintImpl(g);
+            // The damaged regions are in render pixels, which are only the
+            // pixels of the frame when the output is not scaled
+            final Rectangle[] damage = (sceneState.getOutputWidth() == bufWidth &&
+                    sceneState.getOutputHeight() == bufHeight) ? getDamagedRegions() : null;
             freshBackBuffer = false;
 
             int outWidth = sceneState.getOutputWidth();
@@ -159,7 +294,12 @@ final class UploadingPainter extends ViewPainter implements Runnable {
 
             int rawbits[] = rtt.getPixels();
 
-            if (rawbits != null) {
+            if (rawbits != null && uploadExecutor != null) {
+                // rawbits is not written again until the next call to run,
+                // which waits for this copy to complete (see pendingUpload)
+                pendingUpload = submitUpload(pix, damage, bits, rawbits, outWidth, outHeight);
+                pix = null;
+            } else if (rawbits != null) {
                 bits.put(rawbits, 0, outWidth * outHeight);
             } else {
                 if (!rtt.readPixels(bits)) {
@@ -175,11 +315,7 @@ final class UploadingPainter extends ViewPainter implements Runnable {
             }
 
             if (pix != null) {
-                /* transparent pixels created and ready for upload */
-                // Copy references, which are volatile, used by upload. Thus
-                // ensure they still exist once event queue is consumed.
-                pixelSource.enqueuePixels(pix);
-                sceneState.uploadPixels(pixelSource);
+                upload(pix, damage);
             }
 
         } catch (Throwable th) {
@@ -206,6 +342,7 @@ final class UploadingPainter extends ViewPainter implements Runnable {
     }
 
     private RTTexture resolveRenderTarget(Graphics g, int width, int height) {
+        assert pendingUpload == null : "render target painted while a copy reads it";
         if (resolveRTT != null) {
             resolveRTT.lock();
             if (resolveRTT.isSurfaceLost() ||
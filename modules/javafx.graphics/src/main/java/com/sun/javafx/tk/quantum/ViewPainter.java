@@ -26,6 +26,7 @@
 package com.sun.javafx.tk.quantum;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
 import com.sun.javafx.geom.DirtyRegionContainer;
@@ -123,6 +124,13 @@ abstract class ViewPainter implements Runnable {
      */
     private RTTexture sceneBuffer;
 
+    /**
+     * The regions painted by the last call to paintImpl, in pixels, or null
+     * if the entire scene was painted. The regions are only recorded while
+     * there are damage listeners registered with the QuantumToolkit.
+     */
+    private Rectangle[] damagedRegions;
+
     protected ViewPainter(GlassScene gs) {
         sceneState = gs.getSceneState();
         if (sceneState == null) {
@@ -233,6 +241,8 @@ abstract class ViewPainter implements Runnable {
         // The status will be set only if we're rendering with dirty regions
         int status = -1;
 
+        damagedRegions = null;
+
         // If we're rendering with dirty regions, then we'll call the root node to accumulate
         // the dirty regions and then again to do the pre culling.
         if (!renderEverything) {
@@ -303,6 +313,17 @@ abstract class ViewPainter implements Runnable {
                 PulseLogger.addMessage(s.toString());
             }
 
+            final boolean trackDamage = !QuantumToolkit.damageListeners.isEmpty();
+            int damagedRegionCount = 0;
+            Rectangle viewRect = null;
+            if (trackDamage) {
+                damagedRegions = new Rectangle[dirtyRegionSize];
+                // Dirty regions can reach past the edges of the view, for
+                // example around a node that is partly outside of it
+                viewRect = new Rectangle((int) Math.ceil(width * pixelScaleX),
+                                         (int) Math.ceil(height * pixelScaleY));
+            }
+
             // Paint each dirty region
             for (int i = 0; i < dirtyRegionSize; ++i) {
                 final RectBounds dirtyRegion = dirtyRegionContainer.getDirtyRegion(i);
@@ -320,8 +341,17 @@ abstract class ViewPainter implements Runnable {
                     g.setClipRectIndex(i);
                     doPaint(g, getRootPath(i));
                     getRootPath(i).clear();
+                    if (trackDamage) {
+                        final Rectangle damagedRegion = dirtyRect.intersection(viewRect);
+                        if (!damagedRegion.isEmpty()) {
+                            damagedRegions[damagedRegionCount++] = damagedRegion;
+                        }
+                    }
                 }
             }
+            if (trackDamage && damagedRegionCount < dirtyRegionSize) {
+                damagedRegions = Arrays.copyOf(damagedRegions, damagedRegionCount);
+            }
         } else {
             // There are no dirty regions, so just paint everything
             g.setHasPreCullingBits(false);
@@ -409,6 +439,14 @@ abstract class ViewPainter implements Runnable {
         texture.unlock();
     }
 
+    /**
+     * Returns the regions painted by the last paint, in pixels, or null
+     * if the entire scene was painted or no damage listeners are registered.
+     */
+    protected final Rectangle[] getDamagedRegions() {
+        return damagedRegions;
+    }
+
     private static NodePath getRootPath(int i) {
         if (ROOT_PATHS[i] == null) {
             ROOT_PATHS[i] = new NodePath();
@@ -557,6 +557,10 @@ class WindowStage extends GlassStage {
         return platformWindow.isVisible();
     }
 
+    @Override boolean isIconified() {
+        return platformWindow != null && platformWindow.isMinimized();
+    }
+
     @Override public void setOpacity(float opacity) {
         platformWindow.setAlpha(opacity);
         GlassScene gs = getScene();
@@ -229,6 +229,7 @@ public final class ArrayCacheConst implements MarlinConst {
                                     + "get: " + s.getOp
                                     + " - put: " + s.returnOp
                                     + " - create: " + s.createOp
+                                    + " - hit: " + s.getHitRate() + " %"
                                     + " :: max size: " + s.maxSize
                             );
                         }
@@ -266,6 +267,11 @@ public final class ArrayCacheConst implements MarlinConst {
             maxSize = 0;
         }
 
+        double getHitRate() {
+            return (getOp == 0) ? 0.0d
+                : (100.0d * (getOp - createOp)) / getOp;
+        }
+
         void updateMaxSize(final int size) {
             if (size > maxSize) {
                 maxSize = size;
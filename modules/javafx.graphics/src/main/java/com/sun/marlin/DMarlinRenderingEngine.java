@@ -156,6 +156,8 @@ public final class DMarlinRenderingEngine implements MarlinConst
                 + MarlinConst.INITIAL_PIXEL_WIDTH);
         logInfo("prism.marlin.pixelHeight      = "
                 + MarlinConst.INITIAL_PIXEL_HEIGHT);
+        logInfo("prism.marlin.maxMaskPixels    = "
+                + MarlinConst.MAX_MASK_PIXELS);
 
         logInfo("prism.marlin.profile          = "
                 + (MarlinProperties.isProfileQuality() ?
@@ -97,6 +97,10 @@ public interface MarlinConst {
     static final int INITIAL_PIXEL_HEIGHT
         = MarlinProperties.getInitialPixelHeight();
 
+    // 4096 x 2176 pixels for the largest alpha mask kept per context
+    static final int MAX_MASK_PIXELS
+        = MarlinProperties.getMaxMaskPixels();
+
     // typical array sizes: only odd numbers allowed below
     static final int INITIAL_ARRAY        = 256;
 
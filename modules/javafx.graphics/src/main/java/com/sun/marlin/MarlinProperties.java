@@ -77,6 +77,18 @@ public final class MarlinProperties {
             64);
     }
 
+    /**
+     * Return the maximum mask size in pixels kept by each renderer context
+     * to rasterize shapes into alpha masks. Larger masks use a temporary
+     * buffer so that concurrent rendering threads do not each retain one.
+     *
+     * @return 64K < max mask pixels < 64M (4096 x 2176 by default)
+     */
+    public static int getMaxMaskPixels() {
+        return getInteger("prism.marlin.maxMaskPixels", 4096 * 2176,
+                          64 * 1024, 64 * 1024 * 1024);
+    }
+
     /**
      * Return true if the profile is 'quality' (default) over 'speed'
      *
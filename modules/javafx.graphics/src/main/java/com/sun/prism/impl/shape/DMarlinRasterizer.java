@@ -31,6 +31,7 @@ import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.marlin.DMarlinRenderingEngine;
+import com.sun.marlin.MarlinConst;
 import com.sun.marlin.MarlinRenderer;
 import com.sun.marlin.MaskMarlinAlphaConsumer;
 import com.sun.marlin.RendererContext;
@@ -99,7 +100,11 @@ public final class DMarlinRasterizer implements ShapeRasterizer {
             MaskMarlinAlphaConsumer consumer = rdrCtx.consumer;
             if (consumer == null || (w * h) > consumer.getAlphaLength()) {
                 final int csize = (w * h + 0xfff) & (~0xfff);
-                rdrCtx.consumer = consumer = new MaskMarlinAlphaConsumer(csize);
+                consumer = new MaskMarlinAlphaConsumer(csize);
+                // only keep bounded alphas in the (per-thread) context:
+                if (csize <= MarlinConst.MAX_MASK_PIXELS) {
+                    rdrCtx.consumer = consumer;
+                }
                 if (PrismSettings.verbose) {
                     System.out.println("new alphas with length = " + csize);
                 }
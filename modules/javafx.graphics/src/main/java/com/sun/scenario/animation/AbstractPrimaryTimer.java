@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2007, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2007, 2021, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -79,6 +79,7 @@ public abstract class AbstractPrimaryTimer {
         return null;
     };
 
+    private TimeSource timeSource = TimeSource.SYSTEM;
     private boolean paused = false;
     private long totalPausedTime;
     private long startPauseTime;
@@ -101,7 +102,8 @@ public abstract class AbstractPrimaryTimer {
     // These two variables are ONLY USED if FIXED_PULSE_LENGTH_PROP is true. In this
     // case, instead of advancing time based on the system time (nanos etc) we instead
     // increment each animation by a fixed length of time for each pulse. This is
-    // handy while debugging.
+    // handy while debugging, and lets the toolkit render animations offline as
+    // fast as possible since the animation time no longer depends on the wall clock.
     private final long fixedPulseLength = Boolean.getBoolean(FIXED_PULSE_LENGTH_PROP) ? PULSE_DURATION_NS : 0;
     private long debugNanos = 0;
 
@@ -141,13 +143,61 @@ public abstract class AbstractPrimaryTimer {
         }
 
         return paused ? startPauseTime :
-                        System.nanoTime() - totalPausedTime;
+                        timeSource.nanos() - totalPausedTime;
+    }
+
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    /**
+     * Sets the source of the time returned by {@link #nanos()} and passed to
+     * animations. The time of this timer continues from its current value,
+     * only the rate at which it advances changes. This method must be called
+     * on the FX Application Thread.
+     *
+     * @param source the new time source, or null to follow the system time
+     */
+    public void setTimeSource(TimeSource source) {
+        if (source == null) {
+            source = TimeSource.SYSTEM;
+        }
+        if (source != timeSource) {
+            totalPausedTime += source.nanos() - timeSource.nanos();
+            timeSource = source;
+        }
+    }
+
+    /**
+     * Advances the {@link ManualTimeSource} of this timer and immediately
+     * runs one pulse for all animations, independently of the pulse rate.
+     * This method must be called on the FX Application Thread.
+     *
+     * @param elapsedNanos the time to advance by, in nanoseconds
+     * @throws IllegalStateException if the time source is not a
+     *         ManualTimeSource
+     * @throws IllegalArgumentException if elapsedNanos is negative
+     */
+    public void step(long elapsedNanos) {
+        if (!(timeSource instanceof ManualTimeSource)) {
+            throw new IllegalStateException("Time source is not manual: " + timeSource);
+        }
+        ((ManualTimeSource) timeSource).advance(elapsedNanos);
+        theMainLoop.run();
     }
 
     public boolean isFullspeed() {
         return fullspeed;
     }
 
+    /**
+     * Returns whether time advances by a fixed pulse duration on each pulse
+     * instead of following the system time.
+     */
+    public boolean isFixedPulseLength() {
+        return fixedPulseLength > 0;
+    }
+
     protected AbstractPrimaryTimer() {
     }
 
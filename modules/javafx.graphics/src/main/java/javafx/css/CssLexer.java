@@ -27,7 +27,7 @@ package javafx.css;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import com.sun.javafx.css.parser.LexerState;
@@ -213,7 +213,7 @@ final class CssLexer {
     private Map<LexerState, LexerState[]> createStateMap() {
 
         Map<LexerState, LexerState[]> map =
-                new HashMap<LexerState, LexerState[]>();
+                new IdentityHashMap<LexerState, LexerState[]>();
 
         // initState -- [#] --> hashState
         // initState -- [-] --> minusState
@@ -351,15 +351,16 @@ final class CssLexer {
     CssLexer() {
         this.stateMap = createStateMap();
         this.text = new StringBuilder(64);
-        this.currentState = initState;
+        setState(initState);
     }
 
     void setReader(Reader reader) {
         this.reader = reader;
+        bufPos = bufLen = 0;
         lastc = -1;
         pos = offset = 0;
         line = 1;
-        this.currentState = initState;
+        setState(initState);
         this.token = null;
         try {
             this.ch = readChar();
@@ -729,7 +730,14 @@ final class CssLexer {
 
     private int readChar() throws IOException {
 
-        int c = reader.read();
+        // Read ahead in blocks rather than calling Reader.read() per char
+        if (bufPos == bufLen) {
+            do {
+                bufLen = reader.read(buf, 0, buf.length);
+            } while (bufLen == 0);
+            bufPos = 0;
+        }
+        int c = bufLen > 0 ? buf[bufPos++] : -1;
 
         // only reset line and pos counters after having read a NL since
         // a NL token is created after the readChar
@@ -762,7 +770,7 @@ final class CssLexer {
 
         // reset text buffer and currentState
         text.delete(0,text.length());
-        currentState = initState;
+        setState(initState);
 
         return tok;
     }
@@ -773,9 +781,6 @@ final class CssLexer {
             while (true) {
                 charNotConsumed = false;
 
-                final LexerState[] reachableStates =
-                        currentState != null ? stateMap.get(currentState) : null;
-
                 final int max = reachableStates != null ? reachableStates.length : 0;
 
                 LexerState newState = null;
@@ -790,7 +795,9 @@ final class CssLexer {
 
                     // Some reachable state was reached. Keep going until
                     // the char isn't accepted by any state
-                    currentState = newState;
+                    if (newState != currentState) {
+                        setState(newState);
+                    }
                     text.append((char)ch);
                     ch = readChar();
                     continue;
@@ -808,7 +815,7 @@ final class CssLexer {
                     // there is an error, so return INVALID.
                      //
                     if (type != Token.INVALID ||
-                        !currentState.equals(initState)) {
+                        currentState != initState) {
 
                         final String str = text.toString();
                         Token tok = new Token(type, str, line, offset);
@@ -928,7 +935,7 @@ final class CssLexer {
                     case ' ':
                     case '\t':
                     case '\f':
-                        token = new Token(WS, Character.toString((char)ch), line, offset);
+                        token = new Token(WS, ch == ' ' ? " " : Character.toString((char)ch), line, offset);
                         offset = pos;
                         break;
 
@@ -992,12 +999,23 @@ final class CssLexer {
         }
     }
 
+    // Sets the current state along with the states reachable from it, so
+    // that the state map is only consulted when the state changes.
+    private void setState(LexerState state) {
+        currentState = state;
+        reachableStates = state != null ? stateMap.get(state) : null;
+    }
+
     private int ch;
     private boolean charNotConsumed = false;
     private Reader reader;
+    private final char[] buf = new char[4096];
+    private int bufPos = 0;
+    private int bufLen = 0;
     private Token token;
     private final Map<LexerState, LexerState[]> stateMap;
     private LexerState currentState;
+    private LexerState[] reachableStates;
     private final StringBuilder text;
 
 }
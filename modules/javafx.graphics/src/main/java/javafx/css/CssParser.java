@@ -93,6 +93,7 @@ import java.io.CharArrayReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -189,7 +190,7 @@ final public class CssParser {
         final Stylesheet stylesheet = new Stylesheet();
         if (stylesheetText != null && !stylesheetText.trim().isEmpty()) {
             setInputSource(stylesheetText);
-            try (Reader reader = new CharArrayReader(stylesheetText.toCharArray())) {
+            try (Reader reader = new StringReader(stylesheetText)) {
                 parse(stylesheet, reader);
             } catch (IOException ioe) {
                 // this method doesn't explicitly throw IOException
@@ -211,7 +212,7 @@ final public class CssParser {
         final Stylesheet stylesheet = new Stylesheet(docbase);
         if (stylesheetText != null && !stylesheetText.trim().isEmpty()) {
             setInputSource(docbase, stylesheetText);
-            try (Reader reader = new CharArrayReader(stylesheetText.toCharArray())) {
+            try (Reader reader = new StringReader(stylesheetText)) {
                 parse(stylesheet, reader);
             }
         }
@@ -268,7 +269,7 @@ final public class CssParser {
         if (stylesheetText != null && !stylesheetText.trim().isEmpty()) {
             setInputSource(node);
             final List<Rule> rules = new ArrayList<Rule>();
-            try (Reader reader = new CharArrayReader(stylesheetText.toCharArray())) {
+            try (Reader reader = new StringReader(stylesheetText)) {
                 final CssLexer lexer = new CssLexer();
                 lexer.setReader(reader);
                 currentToken = nextToken(lexer);
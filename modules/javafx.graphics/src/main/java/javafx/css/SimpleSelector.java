@@ -235,19 +235,7 @@ final public class SimpleSelector extends Selector {
         }
 
         if (matchOnStyleClass) {
-
-            final StyleClassSet otherStyleClassSet = new StyleClassSet();
-            final List<String> styleClasses = styleable.getStyleClass();
-            for(int n=0, nMax = styleClasses.size(); n<nMax; n++) {
-
-                final String styleClassName = styleClasses.get(n);
-                if (styleClassName == null || styleClassName.isEmpty()) continue;
-
-                final StyleClass styleClass = StyleClassSet.getStyleClass(styleClassName);
-                otherStyleClassSet.add(styleClass);
-            }
-
-            boolean styleClassMatch = matchStyleClasses(otherStyleClassSet);
+            boolean styleClassMatch = matchStyleClasses(styleable.getStyleClass());
             if (!styleClassMatch) return false;
         }
 
@@ -291,8 +279,16 @@ final public class SimpleSelector extends Selector {
     //
     // This selector matches when class="pastoral blue aqua marine" but does not
     // match for class="pastoral blue".
-    private boolean matchStyleClasses(StyleClassSet otherStyleClasses) {
-        return otherStyleClasses.containsAll(styleClassSet);
+    //
+    // Each of the selector's style classes is looked up in the list rather than
+    // building a StyleClassSet from the list, since this is called for every
+    // candidate ancestor of a compound selector.
+    private boolean matchStyleClasses(List<String> otherStyleClasses) {
+        if (otherStyleClasses.size() < styleClassSet.size()) return false;
+        for (StyleClass styleClass : styleClassSet) {
+            if (!otherStyleClasses.contains(styleClass.getStyleClassName())) return false;
+        }
+        return true;
     }
 
     @Override public boolean equals(Object obj) {
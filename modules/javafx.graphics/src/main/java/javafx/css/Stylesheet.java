@@ -32,6 +32,7 @@ import javafx.collections.ObservableList;
 
 import com.sun.javafx.collections.TrackableObservableList;
 import com.sun.javafx.css.FontFaceImpl;
+import com.sun.javafx.css.StylesheetHelper;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
@@ -42,6 +43,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
@@ -155,6 +157,20 @@ public class Stylesheet {
         this.url = url;
     }
 
+    static {
+        StylesheetHelper.setStylesheetAccessor(new StylesheetHelper.StylesheetAccessor() {
+            @Override
+            public Stylesheet loadBinary(InputStream stream, String url) throws IOException {
+                return Stylesheet.loadBinary(stream, url);
+            }
+
+            @Override
+            public void writeBinary(Stylesheet stylesheet, OutputStream stream) throws IOException {
+                stylesheet.writeBinary(stream);
+            }
+        });
+    }
+
     /**
      * Returns the rules that are defined in this {@code Stylesheet}.
      *
@@ -379,16 +395,23 @@ public class Stylesheet {
         URI sourceURI = source.toURI();
         Stylesheet stylesheet = new CssParser().parse(sourceURI.toURL());
 
+        try (FileOutputStream fos = new FileOutputStream(destination)) {
+            stylesheet.writeBinary(fos);
+        }
+    }
+
+    // Write this stylesheet in binary format, as read by loadBinary
+    private void writeBinary(final OutputStream stream) throws IOException {
+
         // first write all the css binary data into the buffer and collect strings on way
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(baos);
         StringStore stringStore = new StringStore();
-        stylesheet.writeBinary(dos, stringStore);
+        writeBinary(dos, stringStore);
         dos.flush();
         dos.close();
 
-        FileOutputStream fos = new FileOutputStream(destination);
-        DataOutputStream os = new DataOutputStream(fos);
+        DataOutputStream os = new DataOutputStream(stream);
 
         // write file version
         os.writeShort(BINARY_CSS_VERSION);
@@ -399,7 +422,6 @@ public class Stylesheet {
         // write binary css
         os.write(baos.toByteArray());
         os.flush();
-        os.close();
     }
 
     // Add the rules from the other stylesheet to this one
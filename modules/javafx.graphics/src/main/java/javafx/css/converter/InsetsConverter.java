@@ -25,6 +25,7 @@
 
 package javafx.css.converter;
 
+import com.sun.javafx.css.ValueInterner;
 import javafx.css.Size;
 import javafx.css.ParsedValue;
 import javafx.css.StyleConverter;
@@ -64,7 +65,7 @@ public final class InsetsConverter extends StyleConverter<ParsedValue[], Insets>
         double right = (sides.length > 1) ? ((Size)sides[1].convert(font)).pixels(font) : top;
         double bottom = (sides.length > 2) ? ((Size)sides[2].convert(font)).pixels(font) : top;
         double left = (sides.length > 3) ? ((Size)sides[3].convert(font)).pixels(font) : right;
-        return new Insets(top, right, bottom, left);
+        return ValueInterner.intern(new Insets(top, right, bottom, left));
     }
 
     @Override
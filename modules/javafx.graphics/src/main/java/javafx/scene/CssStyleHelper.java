@@ -26,6 +26,7 @@ package javafx.scene;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -57,6 +58,7 @@ import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
 
 import com.sun.javafx.css.CalculatedValue;
+import com.sun.javafx.css.CssProfiler;
 import com.sun.javafx.css.ParsedValueImpl;
 import com.sun.javafx.css.PseudoClassState;
 import com.sun.javafx.css.StyleCache;
@@ -83,6 +85,61 @@ final class CssStyleHelper {
         this.triggerStates = new PseudoClassState();
     }
 
+    /*
+     * Whether reapplying CSS to a large subtree first matches selectors for
+     * the whole subtree in parallel. Off by default.
+     */
+    private static final boolean PARALLEL_MATCH =
+            PropertyHelper.getBooleanProperty("javafx.css.parallelMatch");
+
+    // The fewest nodes for which matching in parallel is worth the overhead
+    private static final int PARALLEL_MATCH_THRESHOLD = 256;
+
+    private static boolean matchingInParallel = false;
+
+    /*
+     * Called before CSS is reapplied to the node and its subtree. If the
+     * subtree is large enough, the selectors are matched for all of its nodes
+     * in parallel (see StyleManager#matchStylesInParallel) and true is
+     * returned, in which case endParallelMatch must be called once CSS has
+     * been reapplied.
+     */
+    static boolean beginParallelMatch(final Node node) {
+
+        if (PARALLEL_MATCH == false || matchingInParallel) return false;
+
+        final List<Node> nodes = new ArrayList<>();
+        collectSubtree(node, nodes);
+        if (nodes.size() < PARALLEL_MATCH_THRESHOLD) return false;
+
+        StyleManager.getInstance().matchStylesInParallel(nodes);
+        matchingInParallel = true;
+        return true;
+    }
+
+    static void endParallelMatch() {
+        matchingInParallel = false;
+        StyleManager.getInstance().clearPrematches();
+    }
+
+    // Visits the same nodes as Node#reapplyCss does
+    private static void collectSubtree(final Node node, final List<Node> nodes) {
+
+        nodes.add(node);
+
+        if (node instanceof Parent) {
+            final List<Node> children = ((Parent) node).getChildren();
+            for (int n = 0, nMax = children.size(); n < nMax; n++) {
+                collectSubtree(children.get(n), nodes);
+            }
+        } else if (node instanceof SubScene) {
+            final Node subSceneRoot = ((SubScene) node).getRoot();
+            if (subSceneRoot != null) {
+                collectSubtree(subSceneRoot, nodes);
+            }
+        }
+    }
+
     /**
      * Creates a new StyleHelper.
      */
@@ -131,6 +188,8 @@ final class CssStyleHelper {
                 node.styleHelper.cacheContainer.fontSizeCache.clear();
             }
             node.styleHelper.cacheContainer.forceSlowpath = true;
+            // An ancestor's styles may have changed, so lookups must be resolved again
+            node.styleHelper.cacheContainer.clearResolvedLookups();
             node.styleHelper.triggerStates.addAll(triggerStates[0]);
 
             updateParentTriggerStates(node, depth, triggerStates);
@@ -213,6 +272,7 @@ final class CssStyleHelper {
                     parentNode.styleHelper.firstStyleableAncestor = new WeakReference(findFirstStyleableAncestor(parentNode)) ;
                 }
                 parentNode.styleHelper.triggerStates.addAll(triggerState);
+                parentNode.styleHelper.descendantTriggerStates.addAll(triggerState);
 
             }
 
@@ -417,6 +477,22 @@ final class CssStyleHelper {
 
         }
 
+        // Called with the transition states of the node before lookups are
+        // resolved. Looked-up styles depend on the pseudo-class states of the
+        // node and its ancestors, so the memo is only kept if these match the
+        // states the lookups were resolved in.
+        private void validateResolvedLookups(Set<PseudoClass>[] transitionStates) {
+            if (!Arrays.equals(lookupStates, transitionStates)) {
+                resolvedLookups.clear();
+            }
+            lookupStates = transitionStates;
+        }
+
+        private void clearResolvedLookups() {
+            resolvedLookups.clear();
+            lookupStates = null;
+        }
+
         private StyleMap getStyleMap(Styleable styleable) {
             if (styleable != null) {
                 SubScene subScene =  (styleable instanceof Node) ? ((Node) styleable).getSubScene() : null;
@@ -451,6 +527,13 @@ final class CssStyleHelper {
         private final Map<CssMetaData, CalculatedValue> cssSetProperties;
 
         private boolean forceSlowpath = false;
+
+        // The styles that lookups resolved to, by property, for the
+        // transition states in lookupStates. A null value means the
+        // lookup could not be resolved.
+        private final Map<String, CascadingStyle> resolvedLookups = new HashMap<>();
+
+        private Set<PseudoClass>[] lookupStates;
     }
 
     private boolean resetInProgress = false;
@@ -510,10 +593,67 @@ final class CssStyleHelper {
      */
     private PseudoClassState triggerStates = new PseudoClassState();
 
+    /*
+     * The subset of triggerStates that come from selectors matching a
+     * descendant of the node, for example hover in ".button:hover .label".
+     * A change to one of these always requires the subtree to be updated.
+     */
+    private final PseudoClassState descendantTriggerStates = new PseudoClassState();
+
+    /*
+     * StyleManager keeps, for each scene, the names of the properties that have
+     * been looked up, or inherited, from the styles of an ancestor. If a
+     * pseudo-class state change on a node can only change the value of
+     * properties not in that set, then the styles of the node's descendants
+     * cannot change. A lookup that crosses into another scene, for example from
+     * a popup to its owner, is recorded for both scenes.
+     */
+    private static void addAncestorDependent(Styleable styleable, Styleable ancestor, String property) {
+        if (!(styleable instanceof Node)) return;
+
+        final Node node = (Node) styleable;
+        final StyleManager styleManager = StyleManager.getInstance();
+        styleManager.addAncestorDependent(node, node.getSubScene(), property);
+
+        if (ancestor instanceof Node) {
+            final Node ancestorNode = (Node) ancestor;
+            if (ancestorNode.getScene() != node.getScene() || ancestorNode.getSubScene() != node.getSubScene()) {
+                styleManager.addAncestorDependent(ancestorNode, ancestorNode.getSubScene(), property);
+            }
+        }
+    }
+
     boolean pseudoClassStateChanged(PseudoClass pseudoClass) {
         return triggerStates.contains(pseudoClass);
     }
 
+    /*
+     * Called when pseudoClassStateChanged returns true to find out whether the
+     * node's descendants need to be updated too, or whether the change can only
+     * affect the properties of the node itself.
+     */
+    boolean pseudoClassStateChangeAffectsDescendants(final Node node, final PseudoClass pseudoClass) {
+
+        if (descendantTriggerStates.contains(pseudoClass) || cacheContainer == null) {
+            return true;
+        }
+
+        final StyleMap styleMap = getStyleMap(node);
+        if (styleMap == null) {
+            return true;
+        }
+
+        final Set<String> dependents = styleMap.getPseudoClassDependents(pseudoClass);
+        for (String property : dependents) {
+            // Relative sizes of descendants depend on the font
+            if (property.startsWith("-fx-font")) {
+                return true;
+            }
+        }
+        return !dependents.isEmpty()
+                && StyleManager.getInstance().isAnyAncestorDependent(node, node.getSubScene(), dependents);
+    }
+
     /**
      * Dynamic pseudo-class state of the node and its parents.
      * Only valid during a pulse.
@@ -744,6 +884,16 @@ final class CssStyleHelper {
      * animations and that support is detectable via the API.
      */
     void transitionToState(final Node node) {
+        if (CssProfiler.ENABLED) {
+            final long start = System.nanoTime();
+            doTransitionToState(node);
+            CssProfiler.getDefaultBean().nodeStyled(node.getClass(), System.nanoTime() - start);
+        } else {
+            doTransitionToState(node);
+        }
+    }
+
+    private void doTransitionToState(final Node node) {
 
         if (cacheContainer == null) {
             return;
@@ -778,6 +928,7 @@ final class CssStyleHelper {
         }
 
         final Set<PseudoClass>[] transitionStates = getTransitionStates(node);
+        cacheContainer.validateResolvedLookups(transitionStates);
 
         final StyleCacheEntry.Key fontCacheKey = new StyleCacheEntry.Key(transitionStates, Font.getDefault());
         CalculatedValue cachedFont = cacheContainer.fontSizeCache.get(fontCacheKey);
@@ -1240,6 +1391,8 @@ final class CssStyleHelper {
             final String property) {
 
         Styleable parent = ((Node)styleable).styleHelper.firstStyleableAncestor.get();
+        addAncestorDependent(styleable, parent, property);
+
         CssStyleHelper parentStyleHelper = getStyleHelper((Node) parent);
 
         if (parent != null && parentStyleHelper != null) {
@@ -1291,6 +1444,10 @@ final class CssStyleHelper {
                     return null;
                 }
 
+                if (((Node) styleableParent).getScene() != ((Node) styleable).getScene()) {
+                    addAncestorDependent(styleableParent, null, property);
+                }
+
                 StyleMap parentStyleMap = parentStyleHelper.getStyleMap(styleableParent);
                 Set<PseudoClass> styleableParentPseudoClassStates =
                     styleableParent instanceof Node
@@ -1303,6 +1460,29 @@ final class CssStyleHelper {
         }
     }
 
+    /*
+     * resolveRef, memoized for the node this helper belongs to. Modena chains
+     * lookups (-fx-base, -fx-color, -fx-outer-border, ...) that would
+     * otherwise walk up to the root for every property that uses them.
+     * The memo is only used if states are the transition states the memo
+     * was validated with, which means styleable is this helper's node.
+     */
+    private CascadingStyle resolveLookupRef(final Styleable styleable, final String property, final StyleMap styleMap, final Set<PseudoClass> states) {
+
+        final CacheContainer container = cacheContainer;
+        if (container == null || container.lookupStates == null
+                || container.lookupStates.length == 0 || container.lookupStates[0] != states) {
+            return resolveRef(styleable, property, styleMap, states);
+        }
+
+        CascadingStyle style = container.resolvedLookups.get(property);
+        if (style == null && !container.resolvedLookups.containsKey(property)) {
+            style = resolveRef(styleable, property, styleMap, states);
+            container.resolvedLookups.put(property, style);
+        }
+        return style;
+    }
+
     // to resolve a lookup, we just need to find the parsed value.
     private ParsedValue resolveLookups(
             final Styleable styleable,
@@ -1322,9 +1502,10 @@ final class CssStyleHelper {
             if (val instanceof String) {
 
                 final String sval = ((String) val).toLowerCase(Locale.ROOT);
+                addAncestorDependent(styleable, null, sval);
 
                 CascadingStyle resolved =
-                    resolveRef(styleable, sval, styleMap, states);
+                    resolveLookupRef(styleable, sval, styleMap, states);
 
                 if (resolved != null) {
 
@@ -78,7 +78,9 @@ import javafx.geometry.Point3D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.effect.BlendMode;
 import javafx.scene.effect.Effect;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
 import javafx.scene.input.ContextMenuEvent;
 import javafx.scene.input.DragEvent;
 import javafx.scene.input.Dragboard;
@@ -100,6 +102,8 @@ import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Transform;
 import javafx.stage.Window;
 import javafx.util.Callback;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.security.AccessControlContext;
 
 import java.util.ArrayList;
@@ -2076,6 +2080,27 @@ public abstract class Node implements EventTarget, Styleable {
     }
 
     private WritableImage doSnapshot(SnapshotParameters params, WritableImage img) {
+        Scene.SnapshotBatch batch = new Scene.SnapshotBatch();
+        addSnapshot(batch, params, img);
+        return batch.render().get(0);
+    }
+
+    /*
+     * Processes CSS and layout for this node and adds a snapshot of it
+     * to the given batch
+     */
+    private void addSnapshot(Scene.SnapshotBatch batch, SnapshotParameters params, WritableImage img) {
+        addSnapshot(batch, params, img, 0, 0, null, null, 0);
+    }
+
+    /*
+     * Processes CSS and layout for this node and adds a snapshot of it
+     * to the given batch, which is written into the buffer if it is not
+     * null, or into the image otherwise
+     */
+    private <T extends Buffer> void addSnapshot(Scene.SnapshotBatch batch, SnapshotParameters params,
+            WritableImage img, int width, int height,
+            WritablePixelFormat<T> pixelformat, T buffer, int scanlineStride) {
         if (getScene() != null) {
             getScene().doCSSLayoutSyncForSnapshot(this);
         } else {
@@ -2109,11 +2134,16 @@ public abstract class Node implements EventTarget, Styleable {
             w = tempBounds.getWidth();
             h = tempBounds.getHeight();
         }
-        WritableImage result = Scene.doSnapshot(getScene(), x, y, w, h,
-                this, transform, params.isDepthBufferInternal(),
-                params.getFill(), params.getEffectiveCamera(), img);
-
-        return result;
+        if (buffer != null) {
+            batch.add(getScene(), x, y, width, height,
+                    this, transform, params.isDepthBufferInternal(),
+                    params.getFill(), params.getEffectiveCamera(),
+                    pixelformat, buffer, scanlineStride);
+        } else {
+            batch.add(getScene(), x, y, w, h,
+                    this, transform, params.isDepthBufferInternal(),
+                    params.getFill(), params.getEffectiveCamera(), img);
+        }
     }
 
     /**
@@ -2190,6 +2220,168 @@ public abstract class Node implements EventTarget, Styleable {
         return doSnapshot(params, image);
     }
 
+    /**
+     * Takes a snapshot of this node and writes the rendered pixels into the
+     * specified buffer.
+     * The node is rendered as by {@link #snapshot(SnapshotParameters, WritableImage)}
+     * into an image of the specified width and height, but the pixels are
+     * converted into the buffer directly, without an intermediate image.
+     * CSS and layout processing will be done for the node, and any of its
+     * children, prior to rendering it.
+     * The format to be used for pixels in the buffer is defined by the
+     * {@link PixelFormat} object.
+     * The buffer is assumed to be positioned to the location where the
+     * first pixel data, at the upper-left corner of the rendered area,
+     * will be stored. The position of the buffer is not changed.
+     * Pixel data for a row will be stored in adjacent locations within
+     * the buffer packed as tightly as possible for increasing X
+     * coordinates.
+     * Pixel data for adjacent rows will be stored offset from each other
+     * by the number of buffer data elements defined by
+     * {@code scanlineStride}.
+     *
+     * <p>
+     * NOTE: In order for CSS and layout to function correctly, the node
+     * must be part of a Scene (the Scene may be attached to a Stage, but need
+     * not be).
+     * </p>
+     *
+     * @param <T> the type of the buffer
+     * @param params the snapshot parameters containing attributes that
+     * will control the rendering. If the SnapshotParameters object is null,
+     * then the Scene's attributes will be used if this node is part of a scene,
+     * or default attributes will be used if this node is not part of a scene.
+     * @param width the width of the rendered area
+     * @param height the height of the rendered area
+     * @param pixelformat the {@code PixelFormat} object defining the format
+     *        to store the pixels into buffer
+     * @param buffer a buffer of a type appropriate for the indicated
+     *        {@code PixelFormat} object
+     * @param scanlineStride the distance between the pixel data for the
+     *        start of one row of data in the buffer to the start of the
+     *        next row of data
+     *
+     * @throws IllegalStateException if this method is called on a thread
+     *     other than the JavaFX Application Thread.
+     *
+     * @throws NullPointerException if pixelformat or buffer is null.
+     *
+     * @throws IllegalArgumentException if width or height is not positive,
+     *     if scanlineStride is smaller than a row of pixels, or if the
+     *     remaining space in the buffer cannot hold the rendered pixels.
+     *
+     * @since 18
+     */
+    public <T extends Buffer> void snapshot(SnapshotParameters params, int width, int height,
+            WritablePixelFormat<T> pixelformat, T buffer, int scanlineStride) {
+        Toolkit.getToolkit().checkFxUserThread();
+        if (pixelformat == null) {
+            throw new NullPointerException("The pixelformat must not be null");
+        }
+        if (buffer == null) {
+            throw new NullPointerException("The buffer must not be null");
+        }
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("The width and height must be positive");
+        }
+        int elemsPerPixel = (buffer instanceof ByteBuffer) ? 4 : 1;
+        if (scanlineStride < width * elemsPerPixel) {
+            throw new IllegalArgumentException("The scanlineStride is too small");
+        }
+        if (buffer.position() + (long) (height - 1) * scanlineStride
+                + width * elemsPerPixel > buffer.limit()) {
+            throw new IllegalArgumentException("The buffer is too small");
+        }
+
+        if (params == null) {
+            params = new SnapshotParameters();
+            Scene s = getScene();
+            if (s != null) {
+                params.setCamera(s.getEffectiveCamera());
+                params.setDepthBuffer(s.isDepthBufferInternal());
+                params.setFill(s.getFill());
+            }
+        }
+
+        Scene.SnapshotBatch batch = new Scene.SnapshotBatch();
+        addSnapshot(batch, params, null, width, height, pixelformat, buffer, scanlineStride);
+        batch.render();
+    }
+
+    /**
+     * Takes a snapshot of each of the specified nodes and returns the
+     * rendered images when they are ready.
+     * The result is the same as calling
+     * {@link #snapshot(SnapshotParameters, WritableImage)} on each node in
+     * turn, but the nodes are rendered together, which avoids a round trip
+     * to the render thread for every node. Consecutive images of the same
+     * size also share a single render target.
+     * CSS and layout processing will be done for each node, and any of its
+     * children, prior to rendering it.
+     *
+     * <p>
+     * NOTE: In order for CSS and layout to function correctly, each node
+     * must be part of a Scene (the Scene may be attached to a Stage, but need
+     * not be).
+     * </p>
+     *
+     * @param nodes the nodes to render, which must not be null and must not
+     * contain null elements
+     *
+     * @param params the snapshot parameters used for every node.
+     * If the SnapshotParameters object is null, then for each node the
+     * attributes of its Scene will be used if the node is part of a scene,
+     * or default attributes will be used if it is not part of a scene.
+     *
+     * @param images the writable images that will be used to hold the rendered
+     * nodes, in the same order as the nodes. The list may be null, and any of
+     * its elements may be null, in which case a new WritableImage will be
+     * constructed for the corresponding node as described in
+     * {@link #snapshot(SnapshotParameters, WritableImage)}.
+     *
+     * @throws IllegalStateException if this method is called on a thread
+     *     other than the JavaFX Application Thread.
+     *
+     * @throws NullPointerException if the nodes parameter is null or
+     *     contains null elements.
+     *
+     * @throws IllegalArgumentException if the images parameter is not null
+     *     and does not have the same size as the nodes parameter.
+     *
+     * @return the rendered images, in the same order as the nodes
+     * @since 18
+     */
+    public static List<WritableImage> snapshotAll(List<? extends Node> nodes,
+            SnapshotParameters params, List<WritableImage> images) {
+        Toolkit.getToolkit().checkFxUserThread();
+        if (nodes == null) {
+            throw new NullPointerException("The nodes must not be null");
+        }
+        if (images != null && images.size() != nodes.size()) {
+            throw new IllegalArgumentException("The number of images must match the number of nodes");
+        }
+
+        Scene.SnapshotBatch batch = new Scene.SnapshotBatch();
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (node == null) {
+                throw new NullPointerException("The nodes must not contain null elements");
+            }
+            SnapshotParameters p = params;
+            if (p == null) {
+                p = new SnapshotParameters();
+                Scene s = node.getScene();
+                if (s != null) {
+                    p.setCamera(s.getEffectiveCamera());
+                    p.setDepthBuffer(s.isDepthBufferInternal());
+                    p.setFill(s.getFill());
+                }
+            }
+            node.addSnapshot(batch, p, images == null ? null : images.get(i));
+        }
+        return batch.render();
+    }
+
     /**
      * Takes a snapshot of this node at the next frame and calls the
      * specified callback method when the image is ready.
@@ -9209,6 +9401,13 @@ public abstract class Node implements EventTarget, Styleable {
      */
     CssFlags cssFlag = CssFlags.CLEAN;
 
+    /*
+     * True if the UPDATE in cssFlag was requested only by pseudo-class state
+     * changes that cannot affect the styles of this node's descendants, in
+     * which case the descendants are not updated along with this node.
+     */
+    boolean cssUpdateSelfOnly = false;
+
     /**
      * Needed for testing.
      */
@@ -9217,7 +9416,7 @@ public abstract class Node implements EventTarget, Styleable {
     /**
      * Called when a CSS pseudo-class change would cause styles to be reapplied.
      */
-    private void requestCssStateTransition() {
+    private void requestCssStateTransition(boolean affectsDescendants) {
         // If there is no scene, then we cannot make it dirty, so we'll leave
         // the flag alone
         if (getScene() == null) return;
@@ -9226,7 +9425,10 @@ public abstract class Node implements EventTarget, Styleable {
         // to UPDATE to ensure that NodeHelper.processCSS is called on the node.
         if (cssFlag == CssFlags.CLEAN || cssFlag == CssFlags.DIRTY_BRANCH) {
             cssFlag = CssFlags.UPDATE;
+            cssUpdateSelfOnly = !affectsDescendants;
             notifyParentsOfInvalidatedCSS();
+        } else if (affectsDescendants) {
+            cssUpdateSelfOnly = false;
         }
     }
 
@@ -9267,7 +9469,8 @@ public abstract class Node implements EventTarget, Styleable {
         if (modified && styleHelper != null) {
             final boolean isTransition = styleHelper.pseudoClassStateChanged(pseudoClass);
             if (isTransition) {
-                requestCssStateTransition();
+                requestCssStateTransition(
+                        styleHelper.pseudoClassStateChangeAffectsDescendants(this, pseudoClass));
             }
         }
    }
@@ -9343,7 +9546,7 @@ public abstract class Node implements EventTarget, Styleable {
             return;
         }
 
-        reapplyCss();
+        reapplyCssToSubtree();
 
         //
         // One idiom employed by developers is to, during the layout pass,
@@ -9362,6 +9565,22 @@ public abstract class Node implements EventTarget, Styleable {
 
     }
 
+    //
+    // Reapply CSS to this node and its children, first matching selectors for
+    // the whole subtree in parallel if it is large enough.
+    //
+    private void reapplyCssToSubtree() {
+        if (CssStyleHelper.beginParallelMatch(this)) {
+            try {
+                reapplyCss();
+            } finally {
+                CssStyleHelper.endParallelMatch();
+            }
+        } else {
+            reapplyCss();
+        }
+    }
+
     //
     // This method "reapplies" CSS to this node and all of its children. Reapplying CSS
     // means that new style maps are calculated for the node. The process of reapplying
@@ -9431,6 +9650,7 @@ public abstract class Node implements EventTarget, Styleable {
         }
 
         cssFlag = CssFlags.UPDATE;
+        cssUpdateSelfOnly = false;
 
     }
 
@@ -9507,6 +9727,7 @@ public abstract class Node implements EventTarget, Styleable {
 
         // update, unless reapply
         if (cssFlag != CssFlags.REAPPLY) cssFlag = CssFlags.UPDATE;
+        cssUpdateSelfOnly = false;
 
         //
         // RT-28394 - need to see if any ancestor has a flag UPDATE
@@ -9525,6 +9746,8 @@ public abstract class Node implements EventTarget, Styleable {
             while (_parent != null) {
                 if (_parent.cssFlag == CssFlags.UPDATE || _parent.cssFlag == CssFlags.REAPPLY) {
                     topMost = _parent;
+                    // the update has to reach this node
+                    _parent.cssUpdateSelfOnly = false;
                 }
                 _parent = _parent.getParent();
             }
@@ -9562,12 +9785,13 @@ public abstract class Node implements EventTarget, Styleable {
 
         // if REAPPLY was deferred, process it now...
         if (cssFlag == CssFlags.REAPPLY) {
-            reapplyCss();
+            reapplyCssToSubtree();
         }
 
         // Clear the flag first in case the flag is set to something
         // other than clean by downstream processing.
         cssFlag = CssFlags.CLEAN;
+        cssUpdateSelfOnly = false;
 
         // Transition to the new state and apply styles
         if (styleHelper != null && getScene() != null) {
@@ -1365,6 +1365,11 @@ public abstract class Parent extends Node {
             return;
         }
 
+        // If only a pseudo-class state change that cannot affect the styles
+        // of the children brought us here, then children that are CLEAN are
+        // left alone.
+        final boolean updateChildren = cssFlag != CssFlags.UPDATE || !cssUpdateSelfOnly;
+
         // Let the super implementation handle CSS for this node
         ParentHelper.superProcessCSS(this);
 
@@ -1394,8 +1399,11 @@ public abstract class Parent extends Node {
             // If the parent styles are being updated, recalculated or
             // reapplied, then make sure the children get the same treatment.
             // Unless the child is already more dirty than this parent (RT-29074).
-            if(CssFlags.UPDATE.compareTo(child.cssFlag) > 0) {
-                child.cssFlag = CssFlags.UPDATE;
+            if (updateChildren) {
+                if(CssFlags.UPDATE.compareTo(child.cssFlag) > 0) {
+                    child.cssFlag = CssFlags.UPDATE;
+                }
+                child.cssUpdateSelfOnly = false;
             }
             NodeHelper.processCSS(child);
         }
@@ -72,6 +72,7 @@ import javafx.css.Stylesheet;
 import javafx.event.*;
 import javafx.geometry.*;
 import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
 import javafx.scene.input.*;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
@@ -85,6 +86,7 @@ import com.sun.javafx.logging.PlatformLogger;
 import com.sun.javafx.logging.PlatformLogger.Level;
 
 import java.io.File;
+import java.nio.Buffer;
 import java.security.AccessControlContext;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -1288,81 +1290,179 @@ public class Scene implements EventTarget {
             Node root, BaseTransform transform, boolean depthBuffer,
             Paint fill, Camera camera, WritableImage wimg) {
 
-        Toolkit tk = Toolkit.getToolkit();
-        Toolkit.ImageRenderingContext context = new Toolkit.ImageRenderingContext();
-
-        int xMin = (int)Math.floor(x);
-        int yMin = (int)Math.floor(y);
-        int width;
-        int height;
-        if (wimg == null) {
-            int xMax = (int)Math.ceil(x + w);
-            int yMax = (int)Math.ceil(y + h);
-            width = Math.max(xMax - xMin, 1);
-            height = Math.max(yMax - yMin, 1);
-            wimg = new WritableImage(width, height);
-        } else {
-            width = (int)wimg.getWidth();
-            height = (int)wimg.getHeight();
-        }
-
-        setAllowPGAccess(true);
-        context.x = xMin;
-        context.y = yMin;
-        context.width = width;
-        context.height = height;
-        context.transform = transform;
-        context.depthBuffer = depthBuffer;
-        context.root = root.getPeer();
-        context.platformPaint = fill == null ? null : tk.getPaint(fill);
-        double cameraViewWidth = 1.0;
-        double cameraViewHeight = 1.0;
-        if (camera != null) {
-            // temporarily adjust camera viewport to the snapshot size
-            cameraViewWidth = camera.getViewWidth();
-            cameraViewHeight = camera.getViewHeight();
-            camera.setViewWidth(width);
-            camera.setViewHeight(height);
-            NodeHelper.updatePeer(camera);
-            context.camera = camera.getPeer();
-        } else {
-            context.camera = null;
-        }
+        SnapshotBatch batch = new SnapshotBatch();
+        batch.add(scene, x, y, w, h, root, transform, depthBuffer, fill, camera, wimg);
+        return batch.render().get(0);
+    }
 
-        // Grab the lights from the scene
-        context.lights = null;
-        if (scene != null && !scene.lights.isEmpty()) {
-            context.lights = new NGLightBase[scene.lights.size()];
-            for (int i = 0; i < scene.lights.size(); i++) {
-                context.lights[i] = scene.lights.get(i).getPeer();
+    /**
+     * Collects snapshots so that they are rendered by the toolkit in a
+     * single render job. A camera is adjusted to the size of the snapshot
+     * it is used for, so a snapshot that needs a camera of the batch at a
+     * different size first renders the snapshots collected so far.
+     */
+    static final class SnapshotBatch {
+        private final List<Toolkit.ImageRenderingContext> contexts = new ArrayList<>();
+        private final List<WritableImage> pendingImages = new ArrayList<>();
+        private final List<Scene> pendingScenes = new ArrayList<>();
+        // Cameras adjusted to the snapshot size, mapped to their original view size
+        private final Map<Camera, double[]> cameraViewSizes = new HashMap<>();
+        private final List<WritableImage> images = new ArrayList<>();
+
+        void add(Scene scene,
+                double x, double y, double w, double h,
+                Node root, BaseTransform transform, boolean depthBuffer,
+                Paint fill, Camera camera, WritableImage wimg) {
+
+            int xMin = (int)Math.floor(x);
+            int yMin = (int)Math.floor(y);
+            int width;
+            int height;
+            if (wimg == null) {
+                int xMax = (int)Math.ceil(x + w);
+                int yMax = (int)Math.ceil(y + h);
+                width = Math.max(xMax - xMin, 1);
+                height = Math.max(yMax - yMin, 1);
+                wimg = new WritableImage(width, height);
+            } else {
+                width = (int)wimg.getWidth();
+                height = (int)wimg.getHeight();
             }
+
+            Toolkit.ImageRenderingContext context = createContext(scene, xMin, yMin, width, height,
+                    root, transform, depthBuffer, fill, camera);
+
+            setAllowPGAccess(true);
+            Toolkit.WritableImageAccessor accessor = Toolkit.getWritableImageAccessor();
+            context.platformImage = accessor.getTkImageLoader(wimg);
+            setAllowPGAccess(false);
+
+            contexts.add(context);
+            pendingImages.add(wimg);
+            pendingScenes.add(scene);
         }
 
-        Toolkit.WritableImageAccessor accessor = Toolkit.getWritableImageAccessor();
-        context.platformImage = accessor.getTkImageLoader(wimg);
-        setAllowPGAccess(false);
-        Object tkImage = tk.renderToImage(context);
+        // Adds a snapshot that is written into the given buffer instead of
+        // an image. Its entry in the list returned by render is null.
+        <T extends Buffer> void add(Scene scene,
+                double x, double y, int width, int height,
+                Node root, BaseTransform transform, boolean depthBuffer,
+                Paint fill, Camera camera,
+                WritablePixelFormat<T> pixelFormat, T buffer, int scanlineStride) {
+
+            Toolkit.ImageRenderingContext context = createContext(scene,
+                    (int)Math.floor(x), (int)Math.floor(y), width, height,
+                    root, transform, depthBuffer, fill, camera);
+            context.pixels = buffer;
+            context.pixelFormat = pixelFormat;
+            context.pixelsScanlineStride = scanlineStride;
 
-        if (tkImage != null) {
-            accessor.loadTkImage(wimg, tkImage);
+            contexts.add(context);
+            pendingImages.add(null);
+            pendingScenes.add(scene);
         }
 
-        if (camera != null) {
+        private Toolkit.ImageRenderingContext createContext(Scene scene,
+                int xMin, int yMin, int width, int height,
+                Node root, BaseTransform transform, boolean depthBuffer,
+                Paint fill, Camera camera) {
+
+            if (camera != null && cameraViewSizes.containsKey(camera)
+                    && (camera.getViewWidth() != width || camera.getViewHeight() != height)) {
+                render();
+            }
+
+            Toolkit tk = Toolkit.getToolkit();
+            Toolkit.ImageRenderingContext context = new Toolkit.ImageRenderingContext();
+
             setAllowPGAccess(true);
-            camera.setViewWidth(cameraViewWidth);
-            camera.setViewHeight(cameraViewHeight);
-            NodeHelper.updatePeer(camera);
+            context.x = xMin;
+            context.y = yMin;
+            context.width = width;
+            context.height = height;
+            context.transform = transform;
+            context.depthBuffer = depthBuffer;
+            context.root = root.getPeer();
+            context.platformPaint = fill == null ? null : tk.getPaint(fill);
+            if (camera != null) {
+                // temporarily adjust camera viewport to the snapshot size
+                if (!cameraViewSizes.containsKey(camera)) {
+                    cameraViewSizes.put(camera,
+                            new double[] { camera.getViewWidth(), camera.getViewHeight() });
+                }
+                camera.setViewWidth(width);
+                camera.setViewHeight(height);
+                NodeHelper.updatePeer(camera);
+                context.camera = camera.getPeer();
+            } else {
+                context.camera = null;
+            }
+
+            // Grab the lights from the scene
+            context.lights = null;
+            if (scene != null && !scene.lights.isEmpty()) {
+                context.lights = new NGLightBase[scene.lights.size()];
+                for (int i = 0; i < scene.lights.size(); i++) {
+                    context.lights[i] = scene.lights.get(i).getPeer();
+                }
+            }
             setAllowPGAccess(false);
-        }
 
-        // if this scene belongs to some stage
-        // we need to mark the entire scene as dirty
-        // because dirty logic is buggy
-        if (scene != null && scene.peer != null) {
-            scene.setNeedsRepaint();
+            return context;
         }
 
-        return wimg;
+        /**
+         * Renders the snapshots that have not been rendered yet and returns
+         * the images of all snapshots added to this batch, in order.
+         */
+        List<WritableImage> render() {
+            if (contexts.isEmpty()) {
+                return images;
+            }
+
+            Toolkit tk = Toolkit.getToolkit();
+            Object[] tkImages;
+            if (contexts.size() == 1) {
+                tkImages = new Object[] { tk.renderToImage(contexts.get(0)) };
+            } else {
+                tkImages = tk.renderToImages(
+                        contexts.toArray(new Toolkit.ImageRenderingContext[contexts.size()]));
+            }
+
+            Toolkit.WritableImageAccessor accessor = Toolkit.getWritableImageAccessor();
+            for (int i = 0; i < tkImages.length; i++) {
+                if (tkImages[i] != null && pendingImages.get(i) != null) {
+                    accessor.loadTkImage(pendingImages.get(i), tkImages[i]);
+                }
+            }
+
+            if (!cameraViewSizes.isEmpty()) {
+                setAllowPGAccess(true);
+                for (Map.Entry<Camera, double[]> entry : cameraViewSizes.entrySet()) {
+                    Camera camera = entry.getKey();
+                    camera.setViewWidth(entry.getValue()[0]);
+                    camera.setViewHeight(entry.getValue()[1]);
+                    NodeHelper.updatePeer(camera);
+                }
+                setAllowPGAccess(false);
+            }
+
+            // if a scene belongs to some stage
+            // we need to mark the entire scene as dirty
+            // because dirty logic is buggy
+            for (Scene scene : pendingScenes) {
+                if (scene != null && scene.peer != null) {
+                    scene.setNeedsRepaint();
+                }
+            }
+
+            images.addAll(pendingImages);
+            contexts.clear();
+            pendingImages.clear();
+            pendingScenes.clear();
+            cameraViewSizes.clear();
+            return images;
+        }
     }
 
     /**
@@ -26,6 +26,7 @@
 package javafx.scene.layout;
 
 import com.sun.javafx.css.StyleManager;
+import com.sun.javafx.css.ValueInterner;
 import com.sun.javafx.scene.layout.region.RepeatStruct;
 import java.util.Map;
 import javafx.css.CssMetaData;
@@ -113,6 +114,6 @@ class BackgroundConverter extends StyleConverter<ParsedValue[], Background> {
 
         // Give the background fills and background images to a newly constructed BackgroundConverter,
         // and return it.
-        return new Background(backgroundFills, backgroundImages);
+        return ValueInterner.intern(new Background(backgroundFills, backgroundImages));
     }
 }
@@ -26,6 +26,7 @@
 package javafx.scene.layout;
 
 import com.sun.javafx.css.StyleManager;
+import com.sun.javafx.css.ValueInterner;
 import com.sun.javafx.scene.layout.region.BorderImageSlices;
 import com.sun.javafx.scene.layout.region.Margins;
 import com.sun.javafx.scene.layout.region.RepeatStruct;
@@ -189,7 +190,7 @@ class BorderConverter extends StyleConverter<ParsedValue[], Border> {
             }
         }
 
-        return borderStrokes == null && borderImages == null ? null : new Border(borderStrokes, borderImages);
+        return borderStrokes == null && borderImages == null ? null : ValueInterner.intern(new Border(borderStrokes, borderImages));
     }
 
     /**
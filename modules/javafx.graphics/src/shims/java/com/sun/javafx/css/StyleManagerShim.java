@@ -161,6 +161,42 @@ public class StyleManagerShim {
         return sm.findMatchingStyles(node, subScene, triggerStates);
     }
 
+    public void matchStylesInParallel(List<Node> nodes) {
+        sm.matchStylesInParallel(nodes);
+    }
+
+    public void clearPrematches() {
+        sm.clearPrematches();
+    }
+
+    public int getPrematchesUsed() {
+        return sm.getPrematchesUsed();
+    }
+
+    public StyleCache getSharedCache(Styleable styleable, SubScene subScene, StyleCache.Key key) {
+        return sm.getSharedCache(styleable, subScene, key);
+    }
+
+    public int getSharedCacheCount() {
+        return sm.getSharedCacheCount();
+    }
+
+    public void setMaxSharedCacheCount(int max) {
+        sm.setMaxSharedCacheCount(max);
+    }
+
+    public long getImageCacheByteCount() {
+        return sm.getImageCacheByteCount();
+    }
+
+    public void setMaxImageCacheByteCount(long max) {
+        sm.setMaxImageCacheByteCount(max);
+    }
+
+    public void setImageBackgroundLoading(boolean value) {
+        sm.setImageBackgroundLoading(value);
+    }
+
     public byte[] calculateCheckSum(String fname) {
         return sm.calculateCheckSum(fname);
     }
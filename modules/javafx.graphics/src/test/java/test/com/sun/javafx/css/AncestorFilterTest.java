@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.AncestorFilter;
+import javafx.css.Selector;
+import javafx.scene.Group;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AncestorFilterTest {
+
+    private Pane root;
+    private Group group;
+    private Rectangle rect;
+
+    @Before
+    public void setUp() {
+        root = new Pane();
+        root.setId("root");
+        root.getStyleClass().addAll("outer", "dark");
+        group = new Group();
+        group.getStyleClass().add("inner");
+        rect = new Rectangle();
+        rect.getStyleClass().add("leaf");
+        group.getChildren().add(rect);
+        root.getChildren().add(group);
+    }
+
+    private boolean mightMatch(String selector) {
+        int[] hashes = AncestorFilter.getAncestorHashes(Selector.createSelector(selector));
+        return new AncestorFilter(rect).mightMatch(hashes);
+    }
+
+    @Test
+    public void testSimpleSelectorHasNoAncestorHashes() {
+        assertNull(AncestorFilter.getAncestorHashes(Selector.createSelector(".leaf")));
+        assertNull(AncestorFilter.getAncestorHashes(Selector.createSelector("Rectangle#r.leaf")));
+    }
+
+    @Test
+    public void testWildcardAncestorHasNoAncestorHashes() {
+        assertNull(AncestorFilter.getAncestorHashes(Selector.createSelector("* > .leaf")));
+    }
+
+    @Test
+    public void testMatchingSelectorsAreNotRejected() {
+        assertTrue(mightMatch(".outer .leaf"));
+        assertTrue(mightMatch(".inner > .leaf"));
+        assertTrue(mightMatch("#root .inner .leaf"));
+        assertTrue(mightMatch(".outer.dark Rectangle"));
+        assertTrue(mightMatch("Pane Group > Rectangle"));
+        assertTrue(mightMatch("Pane.dark > Group.inner > .leaf"));
+        assertTrue(mightMatch("#root.dark > Group > Rectangle"));
+    }
+
+    @Test
+    public void testSelectorsWithMissingAncestorsAreRejected() {
+        assertFalse(mightMatch(".missing .leaf"));
+        assertFalse(mightMatch("#other .leaf"));
+        assertFalse(mightMatch("StackPane .leaf"));
+        assertFalse(mightMatch(".outer.missing .leaf"));
+        // the node's own style class is not one of its ancestors'
+        assertFalse(mightMatch(".leaf .leaf"));
+    }
+
+    @Test
+    public void testAncestorsAreReadWhenTheFilterIsCreated() {
+        group.getStyleClass().add("added");
+        assertTrue(mightMatch(".added .leaf"));
+    }
+}
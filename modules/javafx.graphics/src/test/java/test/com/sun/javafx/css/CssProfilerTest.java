@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.CssProfiler;
+import java.io.IOException;
+import javafx.css.CssParser;
+import javafx.css.Selector;
+import javafx.css.Stylesheet;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CssProfilerTest {
+
+    private CssProfiler profiler;
+
+    @Before
+    public void setUp() {
+        profiler = CssProfiler.getDefaultBean();
+        profiler.reset();
+    }
+
+    @After
+    public void tearDown() {
+        profiler.reset();
+    }
+
+    @Test
+    public void testSelectorStatisticsAreSortedByTime() {
+        Selector cheap = Selector.createSelector(".cheap");
+        Selector costly = Selector.createSelector(".outer .costly");
+
+        profiler.selectorMatched(cheap, true, 10);
+        profiler.selectorMatched(costly, false, 500);
+        profiler.selectorMatched(costly, true, 700);
+
+        String[] lines = profiler.getSelectorStatistics();
+        assertEquals(2, lines.length);
+        assertTrue(lines[0], lines[0].startsWith(costly.toString()));
+        assertTrue(lines[0], lines[0].endsWith("attempts=2, matches=1, nanos=1200"));
+        assertTrue(lines[1], lines[1].endsWith("attempts=1, matches=1, nanos=10"));
+    }
+
+    @Test
+    public void testEqualSelectorsFromDifferentStylesheetsAreCountedApart() throws IOException {
+        Stylesheet first = new CssParser().parse("first.css", ".a { -fx-opacity: 0.5; }");
+        Stylesheet second = new CssParser().parse("second.css", ".a { -fx-opacity: 0.5; }");
+        Selector firstSelector = first.getRules().get(0).getSelectors().get(0);
+        Selector secondSelector = second.getRules().get(0).getSelectors().get(0);
+        assertEquals(firstSelector, secondSelector);
+
+        profiler.selectorMatched(firstSelector, true, 100);
+        profiler.selectorMatched(secondSelector, false, 10);
+        profiler.selectorMatched(Selector.createSelector(".a"), true, 1);
+
+        String[] lines = profiler.getSelectorStatistics();
+        assertArrayEquals(new String[] {
+                "*.a (first.css): attempts=1, matches=1, nanos=100",
+                "*.a (second.css): attempts=1, matches=0, nanos=10",
+                "*.a: attempts=1, matches=1, nanos=1"
+        }, lines);
+    }
+
+    @Test
+    public void testNodeStatisticsArePerClass() {
+        profiler.nodeStyled(Pane.class, 100);
+        profiler.nodeStyled(Rectangle.class, 30);
+        profiler.nodeStyled(Pane.class, 200);
+
+        String[] lines = profiler.getNodeStatistics();
+        assertArrayEquals(new String[] {
+                Pane.class.getName() + ": styled=2, nanos=300",
+                Rectangle.class.getName() + ": styled=1, nanos=30"
+        }, lines);
+    }
+
+    @Test
+    public void testResetDiscardsStatistics() {
+        profiler.selectorMatched(Selector.createSelector(".a"), true, 1);
+        profiler.nodeStyled(Pane.class, 1);
+        profiler.reset();
+
+        assertEquals(0, profiler.getSelectorStatistics().length);
+        assertEquals(0, profiler.getNodeStatistics().length);
+    }
+}
@@ -26,11 +26,17 @@
 package test.com.sun.javafx.css;
 
 import com.sun.javafx.css.CascadingStyle;
+import com.sun.javafx.css.ImageCacheStats;
+import com.sun.javafx.css.PseudoClassState;
+import com.sun.javafx.css.StyleCache;
+import com.sun.javafx.css.StyleCacheStats;
 import com.sun.javafx.css.StyleManager;
 import com.sun.javafx.css.StyleManagerShim;
 import com.sun.javafx.css.StyleMap;
+import com.sun.javafx.tk.Toolkit;
 import javafx.application.Application;
 import javafx.css.CssParser;
+import javafx.css.PseudoClass;
 import javafx.css.StyleOrigin;
 import javafx.css.StyleableProperty;
 import javafx.css.Stylesheet;
@@ -38,6 +44,7 @@ import javafx.scene.Group;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.SubScene;
+import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
@@ -46,13 +53,19 @@ import javafx.scene.shape.Rectangle;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Test;
+import test.com.sun.javafx.pgstub.StubAsyncImageLoader;
+import test.com.sun.javafx.pgstub.StubImageLoaderFactory;
+import test.com.sun.javafx.pgstub.StubPlatformImageInfo;
+import test.com.sun.javafx.pgstub.StubToolkit;
 
+import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.*;
@@ -1170,4 +1183,294 @@ public class StyleManagerTest {
             Application.setUserAgentStylesheet("data:,");
         }
     }
+
+    private static final String PARALLEL_CSS =
+            ".form .row > .field { -fx-fill: red; } " +
+            ".row .field:hover { -fx-stroke: blue; } " +
+            ".field { -fx-stroke-width: 2; }";
+
+    @SuppressWarnings("unchecked")
+    private static Set<PseudoClass>[] newTriggerStates(int depth) {
+        return new PseudoClassState[depth];
+    }
+
+    private static List<Rectangle> createForm(Pane form) {
+        form.getStyleClass().add("form");
+        List<Rectangle> fields = new ArrayList<>();
+        for (int n = 0; n < 20; n++) {
+            Rectangle field = new Rectangle();
+            field.getStyleClass().add("field");
+            Group row = new Group(field);
+            row.getStyleClass().add("row");
+            form.getChildren().add(row);
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    @Test
+    public void testMatchStylesInParallel_sameStyleMapAsSequential() throws IOException {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        sm.setDefaultUserAgentStylesheet(new CssParser().parse("parallel.css", PARALLEL_CSS));
+
+        Pane form = new Pane();
+        List<Rectangle> fields = createForm(form);
+        Scene scene = new Scene(form);
+
+        Set<PseudoClass>[] parallelStates = newTriggerStates(3);
+        StyleMap parallel;
+        try {
+            sm.matchStylesInParallel(new ArrayList<>(fields));
+            int used = sm.getPrematchesUsed();
+            parallel = sm.findMatchingStyles(fields.get(0), null, parallelStates);
+            assertEquals(used + 1, sm.getPrematchesUsed());
+        } finally {
+            sm.clearPrematches();
+        }
+
+        int used = sm.getPrematchesUsed();
+        Set<PseudoClass>[] sequentialStates = newTriggerStates(3);
+        StyleMap sequential = sm.findMatchingStyles(fields.get(0), null, sequentialStates);
+        assertEquals(used, sm.getPrematchesUsed());
+
+        assertSame(sequential, parallel);
+        assertTrue(parallel.getCascadingStyles().containsKey("-fx-fill"));
+        assertTrue(parallel.getCascadingStyles().containsKey("-fx-stroke"));
+        assertArrayEquals(sequentialStates, parallelStates);
+        assertTrue(parallelStates[0].contains(PseudoClass.getPseudoClass("hover")));
+    }
+
+    @Test
+    public void testMatchStylesInParallel_staleMatchIsNotUsed() throws IOException {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        sm.setDefaultUserAgentStylesheet(new CssParser().parse("parallel.css", PARALLEL_CSS));
+
+        Pane form = new Pane();
+        List<Rectangle> fields = createForm(form);
+        Scene scene = new Scene(form);
+
+        try {
+            sm.matchStylesInParallel(new ArrayList<>(fields));
+            form.getStyleClass().remove("form");
+
+            int used = sm.getPrematchesUsed();
+            StyleMap styleMap = sm.findMatchingStyles(fields.get(0), null, newTriggerStates(3));
+            assertEquals(used, sm.getPrematchesUsed());
+            assertFalse(styleMap.getCascadingStyles().containsKey("-fx-fill"));
+            assertTrue(styleMap.getCascadingStyles().containsKey("-fx-stroke"));
+        } finally {
+            sm.clearPrematches();
+        }
+    }
+
+    @Test
+    public void testSharedCache_countsHitsAndMisses() {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        Rectangle rect = new Rectangle();
+        Scene scene = new Scene(new Group(rect));
+
+        StyleCacheStats stats = StyleCacheStats.getDefaultBean();
+        stats.reset();
+
+        StyleCache.Key key = new StyleCache.Key(new int[] { 1, 2 }, 2);
+        StyleCache first = sm.getSharedCache(rect, null, key);
+        StyleCache second = sm.getSharedCache(rect, null, new StyleCache.Key(key));
+
+        assertSame(first, second);
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getHits());
+    }
+
+    @Test
+    public void testSharedCache_leastRecentlyUsedIsEvicted() {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        Rectangle rect = new Rectangle();
+        Scene scene = new Scene(new Group(rect));
+
+        StyleCacheStats stats = StyleCacheStats.getDefaultBean();
+
+        try {
+            sm.setMaxSharedCacheCount(2);
+
+            StyleCache.Key key1 = new StyleCache.Key(new int[] { 1 }, 1);
+            StyleCache.Key key2 = new StyleCache.Key(new int[] { 2 }, 1);
+            StyleCache.Key key3 = new StyleCache.Key(new int[] { 3 }, 1);
+
+            // these push out any caches left from other tests
+            StyleCache cache1 = sm.getSharedCache(rect, null, key1);
+            StyleCache cache2 = sm.getSharedCache(rect, null, key2);
+            stats.reset();
+
+            // key1 is now more recently used than key2
+            assertSame(cache1, sm.getSharedCache(rect, null, key1));
+            sm.getSharedCache(rect, null, key3);
+
+            assertEquals(2, sm.getSharedCacheCount());
+            assertEquals(1, stats.getEvictions());
+            assertSame(cache1, sm.getSharedCache(rect, null, key1));
+            assertNotSame(cache2, sm.getSharedCache(rect, null, key2));
+        } finally {
+            sm.setMaxSharedCacheCount(0);
+        }
+    }
+
+    @Test
+    public void testImageCache_leastRecentlyUsedIsEvicted() {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        StyleManager styleManager = StyleManager.getInstance();
+        StubImageLoaderFactory imageLoaderFactory = ((StubToolkit) Toolkit.getToolkit()).getImageLoaderFactory();
+
+        String url1 = "file:testImageCache_leastRecentlyUsedIsEvicted1.png";
+        String url2 = "file:testImageCache_leastRecentlyUsedIsEvicted2.png";
+        String url3 = "file:testImageCache_leastRecentlyUsedIsEvicted3.png";
+        imageLoaderFactory.registerImage(url1, new StubPlatformImageInfo(10, 10));
+        imageLoaderFactory.registerImage(url2, new StubPlatformImageInfo(10, 10));
+        imageLoaderFactory.registerImage(url3, new StubPlatformImageInfo(10, 10));
+
+        ImageCacheStats stats = ImageCacheStats.getDefaultBean();
+
+        try {
+            // room for two 10x10 images
+            sm.setMaxImageCacheByteCount(800);
+
+            // these push out any images left from other tests
+            Image image1 = styleManager.getCachedImage(url1);
+            Image image2 = styleManager.getCachedImage(url2);
+            stats.reset();
+
+            // url1 is now more recently used than url2
+            assertSame(image1, styleManager.getCachedImage(url1));
+            styleManager.getCachedImage(url3);
+
+            assertEquals(800, sm.getImageCacheByteCount());
+            assertEquals(1, stats.getEvictions());
+            assertEquals(1, stats.getHits());
+            assertEquals(1, stats.getMisses());
+            assertSame(image1, styleManager.getCachedImage(url1));
+            assertNotSame(image2, styleManager.getCachedImage(url2));
+        } finally {
+            sm.setMaxImageCacheByteCount(0);
+        }
+    }
+
+    @Test
+    public void testImageCache_backgroundLoading() {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        StyleManager styleManager = StyleManager.getInstance();
+        StubImageLoaderFactory imageLoaderFactory = ((StubToolkit) Toolkit.getToolkit()).getImageLoaderFactory();
+
+        String url = "file:testImageCache_backgroundLoading.png";
+        imageLoaderFactory.registerImage(url, new StubPlatformImageInfo(20, 10));
+
+        try {
+            sm.setImageBackgroundLoading(true);
+
+            Image image = styleManager.getCachedImage(url);
+            StubAsyncImageLoader loader = imageLoaderFactory.getLastAsyncImageLoader();
+            assertTrue(loader.isStarted());
+            assertEquals(0, image.getWidth(), 0);
+
+            loader.finish();
+            assertEquals(20, image.getWidth(), 0);
+            assertEquals(10, image.getHeight(), 0);
+            assertSame(image, styleManager.getCachedImage(url));
+        } finally {
+            sm.setImageBackgroundLoading(false);
+        }
+    }
+
+    @Test
+    public void testSharedCache_forgottenContainerDoesNotCountTowardsMax() {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        Rectangle rect1 = new Rectangle();
+        Scene scene1 = new Scene(new Group(rect1));
+        Rectangle rect2 = new Rectangle();
+        Scene scene2 = new Scene(new Group(rect2));
+
+        StyleCacheStats stats = StyleCacheStats.getDefaultBean();
+
+        try {
+            sm.setMaxSharedCacheCount(2);
+
+            StyleCache.Key key1 = new StyleCache.Key(new int[] { 1 }, 1);
+            StyleCache.Key key2 = new StyleCache.Key(new int[] { 2 }, 1);
+
+            sm.getSharedCache(rect1, null, key1);
+            StyleCache cache2 = sm.getSharedCache(rect2, null, key1);
+            stats.reset();
+
+            sm.forget(scene1.getRoot());
+            sm.getSharedCache(rect2, null, key2);
+
+            assertEquals(0, stats.getEvictions());
+            assertSame(cache2, sm.getSharedCache(rect2, null, key1));
+        } finally {
+            sm.setMaxSharedCacheCount(0);
+        }
+    }
+
+    @Test
+    public void testImageCache_backgroundLoadedImageCountsTowardsMax() {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        StyleManager styleManager = StyleManager.getInstance();
+        StubImageLoaderFactory imageLoaderFactory = ((StubToolkit) Toolkit.getToolkit()).getImageLoaderFactory();
+
+        String url1 = "file:testImageCache_backgroundLoadedImageCountsTowardsMax1.png";
+        String url2 = "file:testImageCache_backgroundLoadedImageCountsTowardsMax2.png";
+        imageLoaderFactory.registerImage(url1, new StubPlatformImageInfo(10, 10));
+        imageLoaderFactory.registerImage(url2, new StubPlatformImageInfo(10, 10));
+
+        ImageCacheStats stats = ImageCacheStats.getDefaultBean();
+
+        try {
+            // room for one 10x10 image
+            sm.setMaxImageCacheByteCount(400);
+            sm.setImageBackgroundLoading(true);
+
+            Image image1 = styleManager.getCachedImage(url1);
+            StubAsyncImageLoader loader1 = imageLoaderFactory.getLastAsyncImageLoader();
+            Image image2 = styleManager.getCachedImage(url2);
+            StubAsyncImageLoader loader2 = imageLoaderFactory.getLastAsyncImageLoader();
+            stats.reset();
+
+            loader1.finish();
+            assertEquals(400, sm.getImageCacheByteCount());
+            assertEquals(0, stats.getEvictions());
+
+            loader2.finish();
+            assertEquals(400, sm.getImageCacheByteCount());
+            assertEquals(1, stats.getEvictions());
+            assertSame(image2, styleManager.getCachedImage(url2));
+            assertNotSame(image1, styleManager.getCachedImage(url1));
+        } finally {
+            sm.setImageBackgroundLoading(false);
+            sm.setMaxImageCacheByteCount(0);
+        }
+    }
+
+    @Test
+    public void testImageCache_failedBackgroundLoadIsRetried() {
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        StyleManager styleManager = StyleManager.getInstance();
+        StubImageLoaderFactory imageLoaderFactory = ((StubToolkit) Toolkit.getToolkit()).getImageLoaderFactory();
+
+        String url = "file:testImageCache_failedBackgroundLoadIsRetried.png";
+        imageLoaderFactory.registerImage(url, new StubPlatformImageInfo(10, 10));
+
+        try {
+            sm.setImageBackgroundLoading(true);
+
+            Image image = styleManager.getCachedImage(url);
+            imageLoaderFactory.getLastAsyncImageLoader().finish(new IOException("testImageCache_failedBackgroundLoadIsRetried"));
+            assertTrue(image.isError());
+
+            Image retried = styleManager.getCachedImage(url);
+            assertNotSame(image, retried);
+            imageLoaderFactory.getLastAsyncImageLoader().finish();
+            assertFalse(retried.isError());
+            assertSame(retried, styleManager.getCachedImage(url));
+        } finally {
+            sm.setImageBackgroundLoading(false);
+        }
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.StylesheetCache;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javafx.css.Rule;
+import javafx.css.Stylesheet;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StylesheetCacheTest {
+
+    private Path tempDir;
+    private File cacheDir;
+    private File cssFile;
+    private URL cssUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("StylesheetCacheTest");
+        cacheDir = new File(tempDir.toFile(), "cache");
+        cssFile = new File(tempDir.toFile(), "test.css");
+        cssUrl = cssFile.toURI().toURL();
+    }
+
+    @After
+    public void tearDown() {
+        deleteAll(tempDir.toFile());
+    }
+
+    private static void deleteAll(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteAll(child);
+            }
+        }
+        file.delete();
+    }
+
+    private void writeCss(String css) throws IOException {
+        Files.write(cssFile.toPath(), css.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The declarations of a binary stylesheet are read on first use
+    private static String describe(Stylesheet stylesheet) {
+        for (Rule rule : stylesheet.getRules()) {
+            rule.getDeclarations();
+        }
+        return stylesheet.toString();
+    }
+
+    private int entryCount() {
+        String[] names = cacheDir.list();
+        return names != null ? names.length : 0;
+    }
+
+    @Test
+    public void testSecondParseIsLoadedFromCache() throws IOException {
+        writeCss(".rect { -fx-fill: red; -fx-background-image: url(\"image.png\"); }");
+
+        StylesheetCache cache = new StylesheetCache(cacheDir);
+        Stylesheet parsed = cache.parse(cssUrl);
+        assertEquals(1, entryCount());
+
+        // Same size and modification time, so only a re-parse would see it
+        long lastModified = cssFile.lastModified();
+        writeCss(".rect { -fx-fill: tan; -fx-background-image: url(\"image.png\"); }");
+        assertTrue(cssFile.setLastModified(lastModified));
+
+        Stylesheet cached = new StylesheetCache(cacheDir).parse(cssUrl);
+        assertEquals(cssUrl.toExternalForm(), cached.getUrl());
+        assertEquals(describe(parsed), describe(cached));
+        assertEquals(1, entryCount());
+    }
+
+    @Test
+    public void testChangedContentIsParsedAgain() throws IOException {
+        StylesheetCache cache = new StylesheetCache(cacheDir);
+
+        writeCss(".rect { -fx-fill: red; }");
+        cache.parse(cssUrl);
+
+        long lastModified = cssFile.lastModified();
+        writeCss(".rect { -fx-fill: blue; }");
+        assertTrue(cssFile.setLastModified(lastModified + 1000));
+        Stylesheet stylesheet = cache.parse(cssUrl);
+
+        assertEquals(2, entryCount());
+        assertTrue(describe(stylesheet).contains("0x0000ffff"));
+    }
+
+    @Test
+    public void testStylesheetWithImportIsNotCached() throws IOException {
+        writeCss("@import \"other.css\";\n.rect { -fx-fill: red; }");
+
+        new StylesheetCache(cacheDir).parse(cssUrl);
+
+        assertEquals(0, entryCount());
+    }
+
+    @Test
+    public void testUnreadableEntryIsReplaced() throws IOException {
+        writeCss(".rect { -fx-fill: red; }");
+
+        StylesheetCache cache = new StylesheetCache(cacheDir);
+        Stylesheet parsed = cache.parse(cssUrl);
+
+        File entry = cacheDir.listFiles()[0];
+        Files.write(entry.toPath(), new byte[] { 0, 6, 0 });
+
+        Stylesheet stylesheet = cache.parse(cssUrl);
+        assertEquals(describe(parsed), describe(stylesheet));
+        assertEquals(1, entryCount());
+        assertTrue(entry.length() > 3);
+    }
+}
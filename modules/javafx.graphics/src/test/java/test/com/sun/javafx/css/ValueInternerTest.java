@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.ValueInterner;
+import javafx.geometry.Insets;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ValueInternerTest {
+
+    @Test
+    public void testEqualValuesAreShared() {
+        Insets first = ValueInterner.intern(new Insets(1, 2, 3, 4));
+        Insets second = ValueInterner.intern(new Insets(1, 2, 3, 4));
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testDifferentValuesAreNotShared() {
+        CornerRadii first = ValueInterner.intern(new CornerRadii(5));
+        CornerRadii second = ValueInterner.intern(new CornerRadii(5, true));
+        assertNotSame(first, second);
+        assertEquals(new CornerRadii(5, true), second);
+    }
+
+    @Test
+    public void testNullIsNotInterned() {
+        assertNull(ValueInterner.intern(null));
+    }
+
+    @Test
+    public void testNodesStyledAlikeShareBackground() {
+        Pane pane1 = new Pane();
+        Pane pane2 = new Pane();
+        pane1.setStyle("-fx-background-color: red; -fx-background-insets: 1 2; -fx-background-radius: 3;");
+        pane2.setStyle("-fx-background-color: red; -fx-background-insets: 1 2; -fx-background-radius: 3;");
+        Group root = new Group(pane1, pane2);
+        Scene scene = new Scene(root);
+        root.applyCss();
+
+        assertNotNull(pane1.getBackground());
+        assertSame(pane1.getBackground(), pane2.getBackground());
+    }
+}
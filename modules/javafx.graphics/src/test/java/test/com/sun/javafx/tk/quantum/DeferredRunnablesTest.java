@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.tk.quantum;
+
+import com.sun.javafx.tk.quantum.DeferredRunnablesShim;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DeferredRunnablesTest {
+
+    // stands in for the native event queue
+    private final Queue<Runnable> events = new ArrayDeque<>();
+    private final List<String> log = new ArrayList<>();
+
+    private Runnable logger(String name) {
+        return () -> log.add(name);
+    }
+
+    private void runEvents() {
+        Runnable event;
+        while ((event = events.poll()) != null) {
+            event.run();
+        }
+    }
+
+    @Test
+    public void testRunnablesStayOrderedWithNativeEvents() {
+        DeferredRunnablesShim deferred = new DeferredRunnablesShim(events::add, false);
+        deferred.defer(logger("r1"));
+        events.add(logger("native"));
+        deferred.defer(logger("r2"));
+
+        runEvents();
+        assertEquals(Arrays.asList("r1", "native", "r2"), log);
+    }
+
+    @Test
+    public void testCoalescedRunnablesArePostedAsOneEvent() {
+        DeferredRunnablesShim deferred = new DeferredRunnablesShim(events::add, true);
+        deferred.defer(logger("r1"));
+        events.add(logger("native"));
+        deferred.defer(logger("r2"));
+        deferred.defer(logger("r3"));
+        assertEquals(2, events.size());
+
+        // documented: coalesced runnables may overtake later native events
+        runEvents();
+        assertEquals(Arrays.asList("r1", "r2", "r3", "native"), log);
+    }
+
+    @Test
+    public void testCoalescedRunnableDeferredWhileRunningJoinsTheBatch() {
+        DeferredRunnablesShim deferred = new DeferredRunnablesShim(events::add, true);
+        deferred.defer(() -> {
+            log.add("r1");
+            events.add(logger("native"));
+            deferred.defer(logger("r2"));
+        });
+
+        runEvents();
+        assertEquals(Arrays.asList("r1", "r2", "native"), log);
+    }
+
+    @Test
+    public void testCoalescedRunnablesRunFromNestedEventLoop() {
+        DeferredRunnablesShim deferred = new DeferredRunnablesShim(events::add, true);
+        deferred.defer(() -> {
+            log.add("r1 enter");
+            runEvents(); // nested event loop
+            log.add("r1 exit");
+        });
+        deferred.defer(logger("r2"));
+
+        runEvents();
+        assertEquals(Arrays.asList("r1 enter", "r2", "r1 exit"), log);
+    }
+
+    @Test
+    public void testCoalescedRunnableExceptionDoesNotDropOthers() {
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        List<Throwable> reported = new ArrayList<>();
+        thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+        try {
+            DeferredRunnablesShim deferred = new DeferredRunnablesShim(events::add, true);
+            RuntimeException exception = new RuntimeException();
+            deferred.defer(() -> { throw exception; });
+            deferred.defer(logger("r2"));
+
+            runEvents();
+            assertEquals(Arrays.asList(exception), reported);
+            assertEquals(Arrays.asList("r2"), log);
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+    }
+}
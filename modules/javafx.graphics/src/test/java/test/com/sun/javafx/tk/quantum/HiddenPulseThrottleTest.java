@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.tk.quantum;
+
+import com.sun.javafx.tk.quantum.HiddenPulseThrottleShim;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HiddenPulseThrottleTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(10L);
+    private static final long START = TimeUnit.SECONDS.toNanos(1000L);
+
+    private int countPulses(HiddenPulseThrottleShim throttle, long from, long duration) {
+        int pulses = 0;
+        for (long now = from; now < from + duration; now += TICK) {
+            if (!throttle.skipPulse(now)) {
+                pulses++;
+            }
+        }
+        return pulses;
+    }
+
+    @Test
+    public void testPulsesAreNotSkippedWhileStagesAreOnScreen() {
+        HiddenPulseThrottleShim throttle = new HiddenPulseThrottleShim(10);
+        assertEquals(100, countPulses(throttle, START, TimeUnit.SECONDS.toNanos(1L)));
+    }
+
+    @Test
+    public void testPulsesAreThrottledWhileNoStageIsOnScreen() {
+        HiddenPulseThrottleShim throttle = new HiddenPulseThrottleShim(10);
+        assertFalse(throttle.setStagesOnScreen(false));
+        assertEquals(10, countPulses(throttle, START, TimeUnit.SECONDS.toNanos(1L)));
+    }
+
+    @Test
+    public void testPulsesAreNotThrottledWithZeroRate() {
+        HiddenPulseThrottleShim throttle = new HiddenPulseThrottleShim(0);
+        throttle.setStagesOnScreen(false);
+        assertEquals(100, countPulses(throttle, START, TimeUnit.SECONDS.toNanos(1L)));
+    }
+
+    @Test
+    public void testFullRateResumesWhenStagesComeBackOnScreen() {
+        HiddenPulseThrottleShim throttle = new HiddenPulseThrottleShim(10);
+        throttle.setStagesOnScreen(false);
+        assertFalse(throttle.skipPulse(START));
+        assertTrue(throttle.skipPulse(START + TICK));
+
+        assertTrue(throttle.setStagesOnScreen(true));
+        assertFalse(throttle.setStagesOnScreen(true));
+        assertFalse(throttle.skipPulse(START + 2 * TICK));
+        assertFalse(throttle.skipPulse(START + 3 * TICK));
+    }
+}
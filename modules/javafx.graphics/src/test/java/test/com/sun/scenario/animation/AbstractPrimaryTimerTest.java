@@ -29,6 +29,8 @@ import javafx.animation.AnimationTimer;
 import com.sun.scenario.DelayedRunnable;
 import com.sun.scenario.animation.AbstractPrimaryTimer;
 import com.sun.scenario.animation.AbstractPrimaryTimerShim;
+import com.sun.scenario.animation.ManualTimeSource;
+import com.sun.scenario.animation.TimeSource;
 import com.sun.scenario.animation.shared.PulseReceiver;
 import com.sun.scenario.animation.shared.TimerReceiver;
 import org.junit.Before;
@@ -136,6 +138,78 @@ public class AbstractPrimaryTimerTest {
         assertFalse(flag.isFlagged());
     }
 
+    @Test
+    public void testSetTimeSourceKeepsTime() {
+        final AbstractPrimaryTimer t = new TimeSourceTimerStub();
+        final ManualTimeSource source = new ManualTimeSource(5L);
+        final long before = t.nanos();
+        t.setTimeSource(source);
+        final long after = t.nanos();
+        assertSame(source, t.getTimeSource());
+        assertTrue(after >= before);
+
+        source.advance(16L);
+        assertEquals(after + 16L, t.nanos());
+
+        t.setTimeSource(null);
+        assertSame(TimeSource.SYSTEM, t.getTimeSource());
+        assertTrue(t.nanos() >= after + 16L);
+    }
+
+    @Test
+    public void testPauseResumeWithManualTimeSource() {
+        final AbstractPrimaryTimer t = new TimeSourceTimerStub();
+        final ManualTimeSource source = new ManualTimeSource();
+        t.setTimeSource(source);
+        final long start = t.nanos();
+
+        t.pause();
+        source.advance(10L);
+        assertEquals(start, t.nanos());
+        t.resume();
+        assertEquals(start, t.nanos());
+        source.advance(3L);
+        assertEquals(start + 3L, t.nanos());
+    }
+
+    @Test
+    public void testStep() {
+        final TimeSourceTimerStub t = new TimeSourceTimerStub();
+        final ManualTimeSource source = new ManualTimeSource();
+        t.setTimeSource(source);
+        final long start = t.nanos();
+        final long[] handled = new long[2];
+        final TimerReceiver timerReceiver = now -> {
+            handled[0]++;
+            handled[1] = now;
+        };
+        t.addAnimationTimer(timerReceiver);
+
+        t.step(1_000_000L);
+        assertEquals(1L, handled[0]);
+        assertEquals(start + 1_000_000L, handled[1]);
+
+        t.step(0L);
+        assertEquals(2L, handled[0]);
+        assertEquals(start + 1_000_000L, handled[1]);
+
+        t.step(250_000_000L);
+        assertEquals(3L, handled[0]);
+        assertEquals(start + 251_000_000L, handled[1]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStepRequiresManualTimeSource() {
+        new TimeSourceTimerStub().step(1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStepBackwards() {
+        final AbstractPrimaryTimer t = new TimeSourceTimerStub();
+        t.setTimeSource(new ManualTimeSource());
+        t.step(-1L);
+    }
+
     private static class Flag {
 
         private boolean flagged;
@@ -186,4 +260,17 @@ public class AbstractPrimaryTimerTest {
         }
 
     };
+
+    private static class TimeSourceTimerStub extends AbstractPrimaryTimer {
+
+        @Override
+        protected void postUpdateAnimationRunnable(
+                DelayedRunnable animationRunnable) {
+        }
+
+        @Override
+        protected int getPulseDuration(int precision) {
+            return precision / 60;
+        }
+    }
 }
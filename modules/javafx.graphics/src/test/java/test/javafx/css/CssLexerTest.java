@@ -848,4 +848,26 @@ public class CssLexerTest {
 
     }
 
+    @Test
+    public void testTokenSpanningReadBufferBoundary() {
+
+        // The lexer reads ahead in blocks of 4096 chars. Make sure an
+        // identifier that straddles a block boundary comes back whole.
+        StringBuilder sb = new StringBuilder("-fx-");
+        for (int n=0; n<5000; n++) sb.append('a');
+        String ident = sb.toString();
+        String str = ident + " foo";
+
+        TokenShim[] expected = new TokenShim[]{
+                new TokenShim(CssLexerShim.IDENT, ident),
+                new TokenShim(CssLexerShim.WS, " "),
+                new TokenShim(CssLexerShim.IDENT, "foo"),
+                TokenShim.EOF_TOKEN
+        };
+
+        List<TokenShim> tlist = getTokens(str);
+        checkTokens(tlist, expected);
+        assertEquals(ident.length() + 1, tlist.get(2).getOffset());
+    }
+
 }
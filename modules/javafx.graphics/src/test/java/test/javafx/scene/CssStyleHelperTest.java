@@ -30,6 +30,8 @@ import com.sun.javafx.tk.Toolkit;
 import java.io.IOException;
 import javafx.css.CssParser;
 import javafx.css.PseudoClass;
+import javafx.css.StyleOrigin;
+import javafx.css.StyleableProperty;
 import javafx.css.Stylesheet;
 import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
@@ -608,4 +610,237 @@ public class CssStyleHelperTest {
         assertEquals(Color.BLUE, E.backgroundProperty().getValue().getFills().get(0).getFill());
         assertEquals(Color.BLUE, F.backgroundProperty().getValue().getFills().get(0).getFill());
     }
+
+    @Test
+    public void pseudoClassChangeThatOnlyAffectsParentDoesNotUpdateChildren() throws IOException {
+        Stylesheet stylesheet = null;
+        root.getStyleClass().add("root");
+        stylesheet = new CssParser().parse(
+                "pseudoClassChangeThatOnlyAffectsParentDoesNotUpdateChildren",
+                ".root {}\n"
+                + ".a { -fx-background-color: red; }\n"
+                + ".a:ps1 { -fx-background-color: blue; }\n"
+                + ".leaf { -fx-opacity: 0.5; }\n"
+        );
+        StyleManager.getInstance().setDefaultUserAgentStylesheet(stylesheet);
+        Pane A = new Pane();
+        A.getStyleClass().add("a");
+        Pane C = new Pane();
+        C.getStyleClass().add("leaf");
+        root.getChildren().add(A);
+        A.getChildren().add(C);
+        stage.show();
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.RED, A.backgroundProperty().getValue().getFills().get(0).getFill());
+        assertEquals(0.5, C.getOpacity(), 0.0);
+
+        // Would be restored to 0.5 if C were updated
+        ((StyleableProperty<Number>) C.opacityProperty()).applyStyle(StyleOrigin.USER_AGENT, 0.75);
+
+        A.pseudoClassStateChanged(PseudoClass.getPseudoClass("ps1"), true);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(Color.BLUE, A.backgroundProperty().getValue().getFills().get(0).getFill());
+        assertEquals(0.75, C.getOpacity(), 0.0);
+    }
+
+    @Test
+    public void pseudoClassChangeUpdatesChildrenThatMatchOnParentState() throws IOException {
+        Stylesheet stylesheet = null;
+        root.getStyleClass().add("root");
+        stylesheet = new CssParser().parse(
+                "pseudoClassChangeUpdatesChildrenThatMatchOnParentState",
+                ".root {}\n"
+                + ".a:ps1 { -fx-background-color: blue; }\n"
+                + ".leaf { -fx-background-color: red; }\n"
+                + ".a:ps1 .leaf { -fx-background-color: green; }\n"
+        );
+        StyleManager.getInstance().setDefaultUserAgentStylesheet(stylesheet);
+        Pane A = new Pane();
+        A.getStyleClass().add("a");
+        Pane C = new Pane();
+        C.getStyleClass().add("leaf");
+        root.getChildren().add(A);
+        A.getChildren().add(C);
+        stage.show();
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.RED, C.backgroundProperty().getValue().getFills().get(0).getFill());
+
+        A.pseudoClassStateChanged(PseudoClass.getPseudoClass("ps1"), true);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(Color.BLUE, A.backgroundProperty().getValue().getFills().get(0).getFill());
+        assertEquals(Color.GREEN, C.backgroundProperty().getValue().getFills().get(0).getFill());
+    }
+
+    @Test
+    public void pseudoClassChangeUpdatesChildrenThatLookUpParentVariable() throws IOException {
+        Stylesheet stylesheet = null;
+        root.getStyleClass().add("root");
+        stylesheet = new CssParser().parse(
+                "pseudoClassChangeUpdatesChildrenThatLookUpParentVariable",
+                ".root {}\n"
+                + ".a { col: red; }\n"
+                + ".a:ps1 { col: blue; }\n"
+                + ".leaf { -fx-background-color: col; }\n"
+        );
+        StyleManager.getInstance().setDefaultUserAgentStylesheet(stylesheet);
+        Pane A = new Pane();
+        A.getStyleClass().add("a");
+        Pane C = new Pane();
+        C.getStyleClass().add("leaf");
+        Pane D = new Pane();
+        D.getStyleClass().add("leaf");
+        root.getChildren().add(A);
+        A.getChildren().add(C);
+        C.getChildren().add(D);
+        stage.show();
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.RED, C.backgroundProperty().getValue().getFills().get(0).getFill());
+        assertEquals(Color.RED, D.backgroundProperty().getValue().getFills().get(0).getFill());
+
+        A.pseudoClassStateChanged(PseudoClass.getPseudoClass("ps1"), true);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(Color.BLUE, C.backgroundProperty().getValue().getFills().get(0).getFill());
+        assertEquals(Color.BLUE, D.backgroundProperty().getValue().getFills().get(0).getFill());
+    }
+
+    @Test
+    public void pseudoClassChangeUpdatesChildrenThatInheritParentFont() throws IOException {
+        Stylesheet stylesheet = null;
+        root.getStyleClass().add("root");
+        stylesheet = new CssParser().parse(
+                "pseudoClassChangeUpdatesChildrenThatInheritParentFont",
+                ".root {}\n"
+                + ".a { -fx-font-size: 10px; }\n"
+                + ".a:ps1 { -fx-font-size: 20px; }\n"
+        );
+        StyleManager.getInstance().setDefaultUserAgentStylesheet(stylesheet);
+        StackPane A = new StackPane();
+        A.getStyleClass().add("a");
+        Text text = new Text("text");
+        root.getChildren().add(A);
+        A.getChildren().add(text);
+        stage.show();
+        Toolkit.getToolkit().firePulse();
+        assertEquals(10, text.getFont().getSize(), 0.0);
+
+        A.pseudoClassStateChanged(PseudoClass.getPseudoClass("ps1"), true);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(20, text.getFont().getSize(), 0.0);
+    }
+
+    @Test
+    public void inlineStyleChangeOnAncestorUpdatesChainedLookups() throws IOException {
+        Stylesheet stylesheet = null;
+        root.getStyleClass().add("root");
+        stylesheet = new CssParser().parse(
+                "inlineStyleChangeOnAncestorUpdatesChainedLookups",
+                ".root { base: red; color: base; }\n"
+                + ".leaf { -fx-background-color: color; -fx-border-color: base; }\n"
+        );
+        StyleManager.getInstance().setDefaultUserAgentStylesheet(stylesheet);
+        Pane A = new Pane();
+        Pane C = new Pane();
+        C.getStyleClass().add("leaf");
+        root.getChildren().add(A);
+        A.getChildren().add(C);
+        stage.show();
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.RED, C.backgroundProperty().getValue().getFills().get(0).getFill());
+        assertEquals(Color.RED, C.getBorder().getStrokes().get(0).getTopStroke());
+
+        A.setStyle("base: blue;");
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.BLUE, C.backgroundProperty().getValue().getFills().get(0).getFill());
+        assertEquals(Color.BLUE, C.getBorder().getStrokes().get(0).getTopStroke());
+
+        A.setStyle("");
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.RED, C.backgroundProperty().getValue().getFills().get(0).getFill());
+        assertEquals(Color.RED, C.getBorder().getStrokes().get(0).getTopStroke());
+    }
+
+    @Test
+    public void pseudoClassChangeOnNodeUpdatesChainedLookups() throws IOException {
+        Stylesheet stylesheet = null;
+        root.getStyleClass().add("root");
+        stylesheet = new CssParser().parse(
+                "pseudoClassChangeOnNodeUpdatesChainedLookups",
+                ".root { base: red; color: base; }\n"
+                + ".leaf { -fx-background-color: color; }\n"
+                + ".leaf:ps1 { base: green; }\n"
+        );
+        StyleManager.getInstance().setDefaultUserAgentStylesheet(stylesheet);
+        Pane C = new Pane();
+        C.getStyleClass().add("leaf");
+        root.getChildren().add(C);
+        stage.show();
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.RED, C.backgroundProperty().getValue().getFills().get(0).getFill());
+
+        C.pseudoClassStateChanged(PseudoClass.getPseudoClass("ps1"), true);
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.GREEN, C.backgroundProperty().getValue().getFills().get(0).getFill());
+
+        C.pseudoClassStateChanged(PseudoClass.getPseudoClass("ps1"), false);
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.RED, C.backgroundProperty().getValue().getFills().get(0).getFill());
+
+        C.pseudoClassStateChanged(PseudoClass.getPseudoClass("ps1"), true);
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.GREEN, C.backgroundProperty().getValue().getFills().get(0).getFill());
+    }
+
+    @Test
+    public void lookupsInOtherScenesDoNotMakePseudoClassChangeUpdateChildren() throws IOException {
+        Stylesheet stylesheet = null;
+        root.getStyleClass().add("root");
+        stylesheet = new CssParser().parse(
+                "lookupsInOtherScenesDoNotMakePseudoClassChangeUpdateChildren",
+                ".root {}\n"
+                + ".a { col: red; }\n"
+                + ".a:ps1 { col: blue; -fx-background-color: col; }\n"
+                + ".leaf { -fx-opacity: 0.5; }\n"
+                + ".other-leaf { -fx-background-color: col; }\n"
+        );
+        StyleManager.getInstance().setDefaultUserAgentStylesheet(stylesheet);
+
+        // Another scene in which a descendant looks up col
+        StackPane otherRoot = new StackPane();
+        otherRoot.getStyleClass().add("root");
+        Pane otherA = new Pane();
+        otherA.getStyleClass().add("a");
+        Pane otherLeaf = new Pane();
+        otherLeaf.getStyleClass().add("other-leaf");
+        otherRoot.getChildren().add(otherA);
+        otherA.getChildren().add(otherLeaf);
+        Stage otherStage = new Stage();
+        otherStage.setScene(new Scene(otherRoot));
+        otherStage.show();
+        Toolkit.getToolkit().firePulse();
+        assertEquals(Color.RED, otherLeaf.backgroundProperty().getValue().getFills().get(0).getFill());
+
+        Pane A = new Pane();
+        A.getStyleClass().add("a");
+        Pane C = new Pane();
+        C.getStyleClass().add("leaf");
+        root.getChildren().add(A);
+        A.getChildren().add(C);
+        stage.show();
+        Toolkit.getToolkit().firePulse();
+        assertEquals(0.5, C.getOpacity(), 0.0);
+
+        // Would be restored to 0.5 if C were updated
+        ((StyleableProperty<Number>) C.opacityProperty()).applyStyle(StyleOrigin.USER_AGENT, 0.75);
+
+        A.pseudoClassStateChanged(PseudoClass.getPseudoClass("ps1"), true);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(Color.BLUE, A.backgroundProperty().getValue().getFills().get(0).getFill());
+        assertEquals(0.75, C.getOpacity(), 0.0);
+        otherStage.hide();
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.com.sun.javafx.binding;
+
+import java.util.concurrent.TimeUnit;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of firing value change events through
+ * {@code ExpressionHelper}. With a single change listener the property uses
+ * {@code ExpressionHelper.SingleChange}; with several invalidation and change
+ * listeners it uses {@code ExpressionHelper.Generic}. Run with
+ * {@code -prof gc} to check that firing does not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionHelperBenchmark {
+
+    private static final Object VALUE_1 = new Object();
+    private static final Object VALUE_2 = new Object();
+
+    /**
+     * The number of invalidation listeners, followed by the number of change
+     * listeners, added to the property.
+     */
+    @Param({"0:1", "3:3"})
+    public String listeners;
+
+    private ObjectProperty<Object> property;
+    private boolean flip;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        final String[] counts = listeners.split(":");
+        final int invalidationCount = Integer.parseInt(counts[0]);
+        final int changeCount = Integer.parseInt(counts[1]);
+
+        property = new SimpleObjectProperty<>(VALUE_1);
+        for (int i = 0; i < invalidationCount; i++) {
+            property.addListener((InvalidationListener) bh::consume);
+        }
+        for (int i = 0; i < changeCount; i++) {
+            property.addListener((ChangeListener<Object>) (observable, oldValue, newValue) -> bh.consume(newValue));
+        }
+    }
+
+    @Benchmark
+    public Object fireValueChangedEvent() {
+        flip = !flip;
+        property.set(flip ? VALUE_2 : VALUE_1);
+        return property.get();
+    }
+}
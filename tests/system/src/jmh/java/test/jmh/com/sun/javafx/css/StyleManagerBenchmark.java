@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.com.sun.javafx.css;
+
+import com.sun.javafx.css.PseudoClassState;
+import com.sun.javafx.css.StyleManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import test.jmh.util.HeadlessPlatform;
+
+/**
+ * Measures {@link StyleManager#findMatchingStyles} against the default
+ * (modena) user agent stylesheet, both with a warm style cache and with
+ * a cold cache where the whole scene is restyled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StyleManagerBenchmark {
+
+    @Param({"100"})
+    public int rows;
+
+    private Scene scene;
+    private VBox root;
+    private final List<Node> nodes = new ArrayList<>();
+    // one trigger state array per node, sized by the depth of the node
+    private final List<PseudoClassState[]> triggerStates = new ArrayList<>();
+
+    @Setup
+    public void setup() throws Exception {
+        HeadlessPlatform.startup();
+        HeadlessPlatform.runAndWait(() -> {
+            root = new VBox();
+            for (int i = 0; i < rows; i++) {
+                HBox row = new HBox(new Label("Label " + i),
+                        new TextField("Text " + i),
+                        new CheckBox("Check " + i),
+                        new Button("Button " + i));
+                row.getStyleClass().add("row");
+                root.getChildren().add(row);
+            }
+            scene = new Scene(root, 800, 600);
+            root.applyCss();
+            collect(root);
+        });
+    }
+
+    private void collect(Node node) {
+        nodes.add(node);
+        triggerStates.add(new PseudoClassState[depth(node)]);
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                collect(child);
+            }
+        }
+    }
+
+    private static int depth(Node node) {
+        int depth = 0;
+        for (Node n = node; n != null; n = n.getParent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /*
+     * StyleManager and the scene graph are only safe to read on the FX
+     * thread, so the matching runs there. The hand-off costs one runLater
+     * per invocation, which is small next to matching every node.
+     */
+    @Benchmark
+    public void findMatchingStylesCached(Blackhole bh) {
+        HeadlessPlatform.runAndWait(() -> {
+            final StyleManager styleManager = StyleManager.getInstance();
+            for (int i = 0, n = nodes.size(); i < n; i++) {
+                final PseudoClassState[] states = triggerStates.get(i);
+                // findMatchingStyles adds to the states it finds set
+                Arrays.fill(states, null);
+                bh.consume(styleManager.findMatchingStyles(nodes.get(i), null, states));
+            }
+        });
+    }
+
+    @Benchmark
+    public void applyCssUncached() {
+        HeadlessPlatform.runAndWait(() -> {
+            StyleManager.getInstance().forget(scene);
+            root.setStyle(root.getStyle().isEmpty() ? "-fx-spacing: 1;" : "");
+            root.applyCss();
+        });
+    }
+}
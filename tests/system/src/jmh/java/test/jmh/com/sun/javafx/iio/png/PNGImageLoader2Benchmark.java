@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.com.sun.javafx.iio.png;
+
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.png.PNGImageLoader2;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures decoding a PNG image with {@link PNGImageLoader2#load}.
+ * The image is encoded once with ImageIO during setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PNGImageLoader2Benchmark {
+
+    @Param({"256", "1024"})
+    public int size;
+
+    @Param({"TYPE_INT_RGB", "TYPE_INT_ARGB"})
+    public String type;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() throws IOException {
+        int imageType = "TYPE_INT_ARGB".equals(type)
+                ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage image = new BufferedImage(size, size, imageType);
+        Random random = new Random(42);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                // Gradient with some noise so that the image does not
+                // compress to almost nothing
+                int rgb = (x * 255 / size) << 16 | (y * 255 / size) << 8 | random.nextInt(32);
+                image.setRGB(x, y, 0x80000000 | rgb);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        data = out.toByteArray();
+    }
+
+    @Benchmark
+    public ImageFrame load() throws IOException {
+        PNGImageLoader2 loader = new PNGImageLoader2(new ByteArrayInputStream(data));
+        try {
+            return loader.load(0, 0, 0, true, true);
+        } finally {
+            loader.dispose();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.com.sun.javafx.text;
+
+import com.sun.javafx.scene.text.FontHelper;
+import com.sun.javafx.text.PrismTextLayout;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.text.Font;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import test.jmh.util.HeadlessPlatform;
+
+/**
+ * Measures {@link PrismTextLayout#getLines()}, which shapes the text and
+ * breaks it into lines for the current wrapping width.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrismTextLayoutBenchmark {
+
+    @Param({"32", "4096"})
+    public int length;
+
+    private PrismTextLayout layout;
+    private Object font;
+    private String text;
+    private float wrapWidth;
+
+    @Setup
+    public void setup() throws Exception {
+        HeadlessPlatform.startup();
+        font = FontHelper.getNativeFont(Font.font("System", 13));
+        StringBuilder sb = new StringBuilder(length);
+        String words = "The quick brown fox jumps over the lazy dog. ";
+        while (sb.length() < length) {
+            sb.append(words, 0, Math.min(words.length(), length - sb.length()));
+        }
+        text = sb.toString();
+        layout = new PrismTextLayout();
+        layout.setContent(text, font);
+    }
+
+    @Benchmark
+    public Object getLinesNoWrap() {
+        layout.setContent(text, font);
+        return layout.getLines();
+    }
+
+    @Benchmark
+    public Object getLinesWrapped() {
+        // Alternate the width so that every call lays out the text again
+        wrapWidth = (wrapWidth == 200) ? 300 : 200;
+        layout.setWrapWidth(wrapWidth);
+        return layout.getLines();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.com.sun.prism.impl.shape;
+
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.shape.DMarlinRasterizer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DMarlinRasterizer#getMaskData} for filled and stroked
+ * shapes. This does not need the FX runtime to be started.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarlinRasterizerBenchmark {
+
+    @Param({"64", "512"})
+    public int size;
+
+    private final DMarlinRasterizer rasterizer = new DMarlinRasterizer();
+    private Shape ellipse;
+    private Shape polyline;
+    private BasicStroke stroke;
+
+    @Setup
+    public void setup() {
+        ellipse = new Ellipse2D(0, 0, size, size / 2f);
+
+        Path2D path = new Path2D();
+        path.moveTo(0, 0);
+        for (int i = 1; i <= 100; i++) {
+            path.lineTo(i * size / 100f, (i % 2 == 0) ? 0 : size);
+        }
+        polyline = path;
+
+        stroke = new BasicStroke(2f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10f);
+    }
+
+    @Benchmark
+    public Object fillEllipse() {
+        return rasterizer.getMaskData(ellipse, null, null,
+                BaseTransform.IDENTITY_TRANSFORM, true, true);
+    }
+
+    @Benchmark
+    public Object strokePolyline() {
+        RectBounds bounds = new RectBounds(-2, -2, size + 2, size + 2);
+        return rasterizer.getMaskData(polyline, stroke, bounds,
+                BaseTransform.IDENTITY_TRANSFORM, false, true);
+    }
+}
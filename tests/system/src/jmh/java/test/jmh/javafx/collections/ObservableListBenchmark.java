@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of firing list change events from
+ * {@code ObservableListWrapper}, which is the list returned by
+ * {@link FXCollections#observableArrayList()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObservableListBenchmark {
+
+    @Param({"1", "8"})
+    public int listenerCount;
+
+    @Param({"1000"})
+    public int size;
+
+    private ObservableList<Integer> list;
+    private List<Integer> values;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        list = FXCollections.observableArrayList();
+        for (int i = 0; i < listenerCount; i++) {
+            list.addListener((ListChangeListener<Integer>) c -> {
+                while (c.next()) {
+                    bh.consume(c.getFrom());
+                    bh.consume(c.getTo());
+                }
+            });
+        }
+        values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        list.setAll(values);
+    }
+
+    @Benchmark
+    public void setEachElement() {
+        for (int i = 0; i < size; i++) {
+            list.set(i, size - i);
+        }
+    }
+
+    @Benchmark
+    public void addAndRemoveLast() {
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+            list.remove(list.size() - 1);
+        }
+    }
+
+    @Benchmark
+    public void setAll() {
+        list.setAll(values);
+    }
+
+    @Benchmark
+    public void sort() {
+        list.setAll(values);
+        FXCollections.reverse(list);
+        FXCollections.sort(list);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.javafx.scene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Scene;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import test.jmh.util.HeadlessPlatform;
+
+/**
+ * Measures {@code Parent.layout()} on a deep tree of alternating
+ * {@code VBox} and {@code HBox} containers, each with a few leaf regions.
+ * The scene is never shown, so the layout is done on the benchmark thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParentLayoutBenchmark {
+
+    @Param({"16", "64"})
+    public int depth;
+
+    @Param({"4"})
+    public int leavesPerLevel;
+
+    private Pane root;
+    private final List<Region> leaves = new ArrayList<>();
+    private Region deepestLeaf;
+
+    @Setup
+    public void setup() throws Exception {
+        HeadlessPlatform.startup();
+
+        root = new VBox();
+        Pane parent = root;
+        for (int level = 0; level < depth; level++) {
+            for (int i = 0; i < leavesPerLevel; i++) {
+                Region leaf = new Region();
+                leaf.setPrefSize(10 + i, 10 + level);
+                parent.getChildren().add(leaf);
+                leaves.add(leaf);
+            }
+            Pane child = (level % 2 == 0) ? new HBox() : new VBox();
+            parent.getChildren().add(child);
+            parent = child;
+        }
+        deepestLeaf = leaves.get(leaves.size() - 1);
+
+        // The root needs to be in a scene to be laid out as a root
+        new Scene(root, 800, 600);
+        root.layout();
+    }
+
+    @Benchmark
+    public void layoutAfterDeepestLeafChange() {
+        deepestLeaf.setPrefWidth(deepestLeaf.getPrefWidth() == 20 ? 30 : 20);
+        root.layout();
+    }
+
+    @Benchmark
+    public void layoutAfterAllLeavesChange() {
+        for (Region leaf : leaves) {
+            leaf.requestLayout();
+        }
+        root.layout();
+    }
+}
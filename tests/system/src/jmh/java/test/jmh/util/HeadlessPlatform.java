@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.jmh.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX runtime once per benchmark VM. The benchmarks are
+ * run with the headless Monocle platform and the sw pipeline (see the
+ * "jmh" task in build.gradle), so no display is needed.
+ */
+public final class HeadlessPlatform {
+
+    private static boolean started;
+
+    private HeadlessPlatform() {
+    }
+
+    /**
+     * Starts the FX runtime if it is not already running and waits for
+     * it to be ready.
+     */
+    public static synchronized void startup() throws InterruptedException {
+        if (started) {
+            return;
+        }
+        final CountDownLatch startupLatch = new CountDownLatch(1);
+        Platform.setImplicitExit(false);
+        Platform.startup(startupLatch::countDown);
+        if (!startupLatch.await(15, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Timeout waiting for FX runtime to start");
+        }
+        started = true;
+    }
+
+    /**
+     * Runs the given runnable on the FX application thread and waits for
+     * it to complete. Exceptions thrown by the runnable are rethrown.
+     */
+    public static void runAndWait(Runnable runnable) {
+        if (Platform.isFxApplicationThread()) {
+            runnable.run();
+            return;
+        }
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        Platform.runLater(() -> {
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                error.set(t);
+            } finally {
+                latch.countDown();
+            }
+        });
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+        if (error.get() != null) {
+            throw new RuntimeException(error.get());
+        }
+    }
+}
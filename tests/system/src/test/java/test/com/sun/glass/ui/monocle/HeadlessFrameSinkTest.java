@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.glass.ui.monocle;
+
+import com.sun.glass.ui.monocle.HeadlessFrameSink;
+import com.sun.glass.ui.monocle.HeadlessScreenShim;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HeadlessFrameSinkTest {
+
+    private static final List<String> frames = new ArrayList<>();
+
+    public static class RecordingSink implements HeadlessFrameSink {
+        @Override
+        public void frameComposed(ByteBuffer frame, int width, int height, long frameNumber) {
+            assertTrue(frame.isReadOnly());
+            assertEquals(width * height * 4, frame.remaining());
+            frames.add(frameNumber + ": " + width + "x" + height + " " + Integer.toHexString(frame.getInt(0)));
+        }
+    }
+
+    private HeadlessScreenShim screen;
+
+    @Before
+    public void setUp() {
+        frames.clear();
+        System.setProperty("headless.geometry", "4x2");
+        System.setProperty("headless.frameSink", RecordingSink.class.getName());
+        try {
+            screen = new HeadlessScreenShim();
+        } finally {
+            System.clearProperty("headless.geometry");
+            System.clearProperty("headless.frameSink");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        frames.clear();
+    }
+
+    private void uploadFrame(int pixel) {
+        ByteBuffer windowBuffer = ByteBuffer.allocate(4 * 2 * 4);
+        windowBuffer.order(ByteOrder.nativeOrder());
+        while (windowBuffer.hasRemaining()) {
+            windowBuffer.putInt(pixel);
+        }
+        windowBuffer.flip();
+        screen.uploadPixels(windowBuffer, 0, 0, 4, 2, 1f);
+    }
+
+    @Test
+    public void testComposedFramesAreDelivered() {
+        uploadFrame(0xffffffff);
+        screen.swapBuffers();
+        uploadFrame(0xff000000);
+        screen.swapBuffers();
+
+        assertEquals(List.of("0: 4x2 ffffffff", "1: 4x2 ff000000"), frames);
+    }
+
+    @Test
+    public void testEmptyFramesAreNotDelivered() {
+        screen.swapBuffers();
+        uploadFrame(0xffffffff);
+        screen.swapBuffers();
+        screen.swapBuffers();
+
+        assertEquals(List.of("0: 4x2 ffffffff"), frames);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.glass.ui.monocle;
+
+import com.sun.glass.ui.monocle.MonocleTimerShim;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MonocleTimerTest {
+
+    private static final long TIMEOUT = 5;
+
+    private final AtomicInteger pulses = new AtomicInteger();
+    private final AtomicInteger waits = new AtomicInteger();
+    private final AtomicReference<String> error = new AtomicReference<>();
+    private final Semaphore pulsed = new Semaphore(0);
+    private MonocleTimerShim timer;
+
+    private void pulse() {
+        // every pulse must have been waited for before the next one
+        if (pulses.getAndIncrement() != waits.get()) {
+            error.compareAndSet(null, "pulse " + pulses.get() + " ran before the previous one was waited for");
+        }
+        pulsed.release();
+    }
+
+    private void waitForEventThread() {
+        waits.incrementAndGet();
+    }
+
+    @After
+    public void tearDown() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void testZeroPeriodRunsPulsesBackToBack() throws Exception {
+        timer = new MonocleTimerShim(this::pulse, this::waitForEventThread);
+        timer.start(0);
+
+        assertTrue(pulsed.tryAcquire(100, TIMEOUT, TimeUnit.SECONDS));
+        timer.stop();
+        assertNull(error.get());
+    }
+
+    @Test
+    public void testZeroPeriodPauseAndResume() throws Exception {
+        timer = new MonocleTimerShim(this::pulse, this::waitForEventThread);
+        timer.start(0);
+        assertTrue(pulsed.tryAcquire(3, TIMEOUT, TimeUnit.SECONDS));
+
+        timer.pause();
+        // let a pulse that was in progress complete
+        Thread.sleep(100);
+        final int pausedPulses = pulses.get();
+        Thread.sleep(100);
+        assertEquals(pausedPulses, pulses.get());
+
+        pulsed.drainPermits();
+        timer.resume();
+        assertTrue(pulsed.tryAcquire(3, TIMEOUT, TimeUnit.SECONDS));
+        assertNull(error.get());
+    }
+
+    @Test
+    public void testZeroPeriodStop() throws Exception {
+        timer = new MonocleTimerShim(this::pulse, this::waitForEventThread);
+        timer.start(0);
+        assertTrue(pulsed.tryAcquire(3, TIMEOUT, TimeUnit.SECONDS));
+
+        timer.stop();
+        timer = null;
+        // let a pulse that was in progress complete
+        Thread.sleep(100);
+        final int stoppedPulses = pulses.get();
+        Thread.sleep(100);
+        assertEquals(stoppedPulses, pulses.get());
+    }
+}
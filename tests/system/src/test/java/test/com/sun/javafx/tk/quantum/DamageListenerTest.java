@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.tk.quantum;
+
+import com.sun.glass.ui.Window;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.tk.quantum.DamageListener;
+import com.sun.javafx.tk.quantum.QuantumToolkit;
+import java.nio.IntBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DamageListenerTest {
+
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 100;
+
+    private static final CountDownLatch startupLatch = new CountDownLatch(1);
+    private static final BlockingQueue<Frame> frames = new LinkedBlockingQueue<>();
+
+    private static javafx.scene.shape.Rectangle inside;
+    private static javafx.scene.shape.Rectangle edge;
+
+    private static class Frame {
+        final Rectangle[] regions;
+        final int width;
+        final int height;
+
+        Frame(Rectangle[] regions, int width, int height) {
+            this.regions = regions.clone();
+            this.width = width;
+            this.height = height;
+        }
+
+        boolean intersects(Rectangle rect) {
+            for (Rectangle region : regions) {
+                if (!region.intersection(rect).isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final DamageListener listener = new DamageListener() {
+        @Override
+        public void frameDamaged(Window window, Rectangle[] regions, IntBuffer pixels, int width, int height) {
+            frames.add(new Frame(regions, width, height));
+        }
+    };
+
+    public static class TestApp extends Application {
+        @Override
+        public void start(Stage stage) {
+            inside = new javafx.scene.shape.Rectangle(50, 20, 20, 20);
+            inside.setFill(Color.BLUE);
+            // reaches 40 pixels past the right edge of the scene
+            edge = new javafx.scene.shape.Rectangle(WIDTH - 20, 60, 60, 20);
+            edge.setFill(Color.BLUE);
+            stage.setScene(new Scene(new Pane(inside, edge), WIDTH, HEIGHT));
+            stage.show();
+            startupLatch.countDown();
+        }
+    }
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        QuantumToolkit.addDamageListener(listener);
+        new Thread(() -> Application.launch(TestApp.class)).start();
+        assertTrue(startupLatch.await(5, TimeUnit.SECONDS));
+        // the first frame paints the entire scene
+        assertNotNull(frames.poll(5, TimeUnit.SECONDS));
+    }
+
+    @AfterClass
+    public static void teardown() {
+        QuantumToolkit.removeDamageListener(listener);
+        Platform.exit();
+    }
+
+    /**
+     * Changes the fill of the node and returns the first frame painted after
+     * that which is damaged where the node is.
+     */
+    private Frame changeFill(javafx.scene.shape.Rectangle node, Rectangle bounds) throws Exception {
+        Platform.runLater(() -> node.setFill(Color.RED));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Frame frame;
+        while ((frame = frames.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) != null) {
+            if (frame.intersects(bounds)) {
+                return frame;
+            }
+        }
+        fail("No frame was damaged at " + bounds);
+        return null;
+    }
+
+    @Test
+    public void testNodeChangeIsReported() throws Exception {
+        Rectangle bounds = new Rectangle(50, 20, 20, 20);
+        Frame frame = changeFill(inside, bounds);
+
+        assertEquals(WIDTH, frame.width);
+        assertEquals(HEIGHT, frame.height);
+        Rectangle union = new Rectangle(frame.regions[0]);
+        for (Rectangle region : frame.regions) {
+            union.add(region);
+        }
+        assertTrue("Damage " + union + " does not contain " + bounds, union.contains(bounds));
+        assertFalse("Only the changed node should be damaged",
+                frame.intersects(new Rectangle(WIDTH - 20, 60, 20, 20)));
+    }
+
+    @Test
+    public void testRegionsAreClampedToView() throws Exception {
+        Frame frame = changeFill(edge, new Rectangle(WIDTH - 20, 60, 20, 20));
+
+        Rectangle view = new Rectangle(frame.width, frame.height);
+        for (Rectangle region : frame.regions) {
+            assertFalse(region.isEmpty());
+            assertTrue("Region " + region + " is outside of " + view, view.contains(region));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.tk.quantum;
+
+import com.sun.glass.ui.Window;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.tk.quantum.DamageListener;
+import com.sun.javafx.tk.quantum.QuantumToolkit;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Paints a scene whose content changes on every pulse while the frames are
+ * copied on upload threads, and checks the frames reach the window in order
+ * and with the right pixels.
+ */
+public class UploadThreadsTest {
+
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 100;
+    private static final int STEPS = 20;
+    private static final int WHITE = 0xFFFFFFFF;
+
+    private static final CountDownLatch startupLatch = new CountDownLatch(1);
+    private static final CountDownLatch lastFrameLatch = new CountDownLatch(1);
+    // the step shown by each frame, or an error message
+    private static final List<Object> frames = new ArrayList<>();
+
+    private static javafx.scene.shape.Rectangle rect;
+
+    private static int argb(int step) {
+        return 0xFF000000 | (step * 10) << 16;
+    }
+
+    private static Color color(int step) {
+        return Color.rgb(step * 10, 0, 0);
+    }
+
+    private static final DamageListener listener = new DamageListener() {
+        @Override
+        public void frameDamaged(Window window, Rectangle[] regions, IntBuffer pixels, int width, int height) {
+            Object frame;
+            int background = pixels.get(10 * width + 10);
+            int pixel = pixels.get(30 * width + 60);
+            int step = ((pixel >> 16) & 0xFF) / 10;
+            if (width != WIDTH || height != HEIGHT) {
+                frame = "Frame is " + width + "x" + height;
+            } else if (background != WHITE) {
+                frame = "Background is " + Integer.toHexString(background);
+            } else if (pixel != argb(step)) {
+                frame = "Node is " + Integer.toHexString(pixel);
+            } else {
+                frame = step;
+            }
+            synchronized (frames) {
+                frames.add(frame);
+            }
+            if (step == STEPS) {
+                lastFrameLatch.countDown();
+            }
+        }
+    };
+
+    public static class TestApp extends Application {
+        @Override
+        public void start(Stage stage) {
+            rect = new javafx.scene.shape.Rectangle(50, 20, 20, 20);
+            rect.setFill(color(0));
+            Scene scene = new Scene(new Pane(rect), WIDTH, HEIGHT, Color.WHITE);
+            stage.setScene(scene);
+            stage.show();
+            startupLatch.countDown();
+        }
+    }
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        System.setProperty("quantum.uploadthreads", "2");
+        QuantumToolkit.addDamageListener(listener);
+        new Thread(() -> Application.launch(TestApp.class)).start();
+        assertTrue(startupLatch.await(5, TimeUnit.SECONDS));
+    }
+
+    @AfterClass
+    public static void teardown() {
+        QuantumToolkit.removeDamageListener(listener);
+        Platform.exit();
+    }
+
+    @Test
+    public void testFramesAreUploadedInOrderWithTheirContent() throws Exception {
+        Platform.runLater(() -> new AnimationTimer() {
+            private int step;
+
+            @Override
+            public void handle(long now) {
+                rect.setFill(color(++step));
+                if (step == STEPS) {
+                    stop();
+                }
+            }
+        }.start());
+        assertTrue(lastFrameLatch.await(5, TimeUnit.SECONDS));
+
+        int previous = -1;
+        synchronized (frames) {
+            assertTrue(frames.size() > 1);
+            for (Object frame : frames) {
+                assertTrue(String.valueOf(frame), frame instanceof Integer);
+                int step = (Integer) frame;
+                assertTrue("Frame of step " + step + " after step " + previous, step >= previous);
+                previous = step;
+            }
+        }
+        assertEquals(STEPS, previous);
+    }
+}
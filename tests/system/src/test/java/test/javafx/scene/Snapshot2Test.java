@@ -25,8 +25,12 @@
 
 package test.javafx.scene;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import javafx.animation.Interpolator;
 import javafx.geometry.Rectangle2D;
@@ -37,6 +41,7 @@ import javafx.scene.SnapshotParameters;
 import javafx.scene.SnapshotResult;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
@@ -362,6 +367,90 @@ public class Snapshot2Test extends SnapshotCommon {
         }, snapshotParams, img);
     }
 
+    // Test snapshot of several nodes at once
+
+    @Test
+    public void testSnapshotMultipleNodes() {
+        setupSimpleScene();
+        final SnapshotParameters snapshotParams = new SnapshotParameters();
+        final WritableImage img1 = useImage ? new WritableImage(NODE_W, NODE_H) : null;
+        final WritableImage img2 = useImage ? new WritableImage(NODE_W, NODE_H) : null;
+        Util.runAndWait(() -> {
+            List<WritableImage> wimgs = Node.snapshotAll(
+                    List.of(tmpNode, tmpScene.getRoot()), snapshotParams,
+                    useImage ? Arrays.asList(img1, img2) : null);
+            assertEquals(2, wimgs.size());
+            if (useImage) {
+                assertSame(img1, wimgs.get(0));
+                assertSame(img2, wimgs.get(1));
+            }
+
+            for (WritableImage wimg : wimgs) {
+                assertNotNull(wimg);
+                assertEquals(NODE_W, (int)wimg.getWidth());
+                assertEquals(NODE_H, (int)wimg.getHeight());
+            }
+            assertTrue(comparePixels(wimgs.get(0), wimgs.get(1)));
+        });
+    }
+
+    @Test
+    public void testSnapshotMultipleNodesNoParams() {
+        setupSimpleScene();
+        Util.runAndWait(() -> {
+            WritableImage expected = tmpNode.snapshot(null, null);
+            List<WritableImage> wimgs = Node.snapshotAll(
+                    List.of(tmpNode, tmpNode, tmpNode), null, null);
+            assertEquals(3, wimgs.size());
+            for (WritableImage wimg : wimgs) {
+                assertTrue(comparePixels(expected, wimg));
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSnapshotMultipleNodesImageCountMismatch() {
+        setupSimpleScene();
+        Util.runAndWait(() -> {
+            Node.snapshotAll(List.of(tmpNode, tmpNode), null,
+                    List.of(new WritableImage(NODE_W, NODE_H)));
+        });
+    }
+
+    // Test snapshot into a buffer
+
+    @Test
+    public void testSnapshotSimpleNodeToBuffer() {
+        setupSimpleScene();
+        final SnapshotParameters snapshotParams = new SnapshotParameters();
+        Util.runAndWait(() -> {
+            WritableImage wimg = tmpNode.snapshot(snapshotParams, null);
+            assertEquals(NODE_W, (int)wimg.getWidth());
+            assertEquals(NODE_H, (int)wimg.getHeight());
+            ByteBuffer expected = ByteBuffer.allocate(NODE_W * NODE_H * 4);
+            wimg.getPixelReader().getPixels(0, 0, NODE_W, NODE_H,
+                    PixelFormat.getByteBgraInstance(), expected, NODE_W * 4);
+
+            ByteBuffer buffer = useImage
+                    ? ByteBuffer.allocateDirect(NODE_W * NODE_H * 4)
+                    : ByteBuffer.allocate(NODE_W * NODE_H * 4);
+            tmpNode.snapshot(snapshotParams, NODE_W, NODE_H,
+                    PixelFormat.getByteBgraInstance(), buffer, NODE_W * 4);
+            assertEquals(0, buffer.position());
+            assertEquals(expected, buffer);
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSnapshotToBufferTooSmall() {
+        setupSimpleScene();
+        Util.runAndWait(() -> {
+            IntBuffer buffer = IntBuffer.allocate(NODE_W * NODE_H - 1);
+            tmpNode.snapshot(null, NODE_W, NODE_H,
+                    PixelFormat.getIntArgbPreInstance(), buffer, NODE_W);
+        });
+    }
+
     // Test tiled snapshots
 
     private void doTestTiledSnapshotImm(int w, int h) {